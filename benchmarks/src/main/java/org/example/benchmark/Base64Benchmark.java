@@ -0,0 +1,61 @@
+package org.example.benchmark;
+
+import org.example.core.ToolRegistry;
+import org.example.tools.Base64Tool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base64Tool基准：直接调用与注册中心分发
+ * Created on 2025/10/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Base64Benchmark {
+
+    @Param({"16", "1024", "1048576"})
+    int size;
+
+    private String plain;
+    private String encoded;
+    private Map<String, String> encodeParams;
+    private Map<String, String> decodeParams;
+
+    @Setup
+    public void setUp() {
+        ToolRegistry.initialize("org.example.tools");
+        plain = BenchmarkData.mixed(size);
+        encoded = Base64Tool.encodeToBase64(plain);
+        encodeParams = new HashMap<>();
+        encodeParams.put("encode", plain);
+        decodeParams = new HashMap<>();
+        decodeParams.put("decode", encoded);
+    }
+
+    @Benchmark
+    public String encodeDirect() {
+        return Base64Tool.encodeToBase64(plain);
+    }
+
+    @Benchmark
+    public String decodeDirect() {
+        return Base64Tool.decodeFromBase64(encoded);
+    }
+
+    @Benchmark
+    public String encodeRegistry() {
+        return ToolRegistry.executeTool("base64", encodeParams);
+    }
+
+    @Benchmark
+    public String decodeRegistry() {
+        return ToolRegistry.executeTool("base64", decodeParams);
+    }
+}
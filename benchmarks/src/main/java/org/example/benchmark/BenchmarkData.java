@@ -0,0 +1,59 @@
+package org.example.benchmark;
+
+import java.util.Random;
+
+/**
+ * 基准测试输入数据（固定随机种子，保证各版本输入一致）
+ * Created on 2025/10/17
+ */
+public final class BenchmarkData {
+
+    private static final long SEED = 20251017L;
+
+    /**
+     * 常用中文字符范围，用于生成混合文本
+     */
+    private static final char CJK_FIRST = '一';
+    private static final char CJK_LAST = '龥';
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 生成ASCII可打印字符组成的字符串
+     */
+    public static String ascii(int length) {
+        Random random = new Random(SEED);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (' ' + random.nextInt(95));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 生成中英文混合字符串（约三分之一为中文）
+     */
+    public static String mixed(int length) {
+        Random random = new Random(SEED);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = random.nextInt(3) == 0
+                    ? (char) (CJK_FIRST + random.nextInt(CJK_LAST - CJK_FIRST))
+                    : (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 生成订单号列表
+     */
+    public static String[] orderIds(int count) {
+        Random random = new Random(SEED);
+        String[] ids = new String[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = "ORD" + (20250000000000L + (random.nextLong() & Long.MAX_VALUE) % 10000000000L);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Properties;
+
+/**
+ * 基准测试入口 - 在JMH命令行参数基础上默认开启GC分析器（分配速率），
+ * 并把结果以JSON保存到results目录，文件名带c-toolkit版本，便于不同版本间对比
+ * Created on 2025/10/17
+ */
+public class BenchmarkRunner {
+
+    private static final String RESULTS_DIR = "results";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            File resultsDir = new File(resolveBaseDir(), RESULTS_DIR);
+            resultsDir.mkdirs();
+            String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+            File result = new File(resultsDir, toolkitVersion() + "-" + timestamp + ".json");
+            options.resultFormat(ResultFormatType.JSON).result(result.getPath());
+            System.out.println("结果文件: " + result.getPath());
+        }
+
+        new Runner(options.build()).run();
+    }
+
+    /**
+     * 从项目根目录运行时写到benchmarks/results，在benchmarks目录运行时写到results
+     */
+    private static File resolveBaseDir() {
+        File benchmarksDir = new File("benchmarks");
+        return benchmarksDir.isDirectory() ? benchmarksDir : new File(".");
+    }
+
+    private static String toolkitVersion() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = BenchmarkRunner.class.getResourceAsStream("/benchmark.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        }
+        return properties.getProperty("c-toolkit.version", "unknown");
+    }
+}
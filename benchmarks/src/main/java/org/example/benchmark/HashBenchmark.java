@@ -0,0 +1,50 @@
+package org.example.benchmark;
+
+import org.example.core.ToolRegistry;
+import org.example.tools.HashTool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HashTool基准（MD5 + SHA-256及十六进制转换）：直接调用与注册中心分发
+ * cache=on时相同参数的注册中心调用命中结果缓存（1MB输入超过单条上限，不缓存）
+ * Created on 2025/10/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashBenchmark {
+
+    @Param({"16", "1024", "1048576"})
+    int size;
+
+    @Param({"off", "on"})
+    String cache;
+
+    private Map<String, String> params;
+
+    @Setup
+    public void setUp() {
+        // 每组参数在独立的JVM中运行，ToolRegistry初始化时读取该属性
+        System.setProperty("toolkit.cache.bytes", "on".equals(cache) ? String.valueOf(16 << 20) : "0");
+        ToolRegistry.initialize("org.example.tools");
+        params = new HashMap<>();
+        params.put("string", BenchmarkData.mixed(size));
+    }
+
+    @Benchmark
+    public String hashDirect() throws Exception {
+        return HashTool.execute(params);
+    }
+
+    @Benchmark
+    public String hashRegistry() {
+        return ToolRegistry.executeTool("hash", params);
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.benchmark;
+
+import org.example.tools.shard.KeyHash;
+import org.example.tools.shard.KeyHashes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分片哈希函数基准：每次调用计算一个订单号的哈希，结果即ns/键
+ * java使用新建的StringBuilder作为键以避开String的哈希缓存，其余函数对两种键的处理相同
+ * Created on 2025/10/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KeyHashBenchmark {
+
+    private static final int KEY_COUNT = 1024;
+
+    @Param({"java", "crc32", "murmur3", "xxhash64"})
+    String hash;
+
+    private KeyHash keyHash;
+    private CharSequence[] keys;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        keyHash = KeyHashes.of(hash);
+        String[] orderIds = BenchmarkData.orderIds(KEY_COUNT);
+        keys = new CharSequence[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = new StringBuilder(orderIds[i]);
+        }
+    }
+
+    @Benchmark
+    public long hashKey() {
+        index = (index + 1) & (KEY_COUNT - 1);
+        return keyHash.hash(keys[index]);
+    }
+}
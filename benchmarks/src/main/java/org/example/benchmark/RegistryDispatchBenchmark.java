@@ -0,0 +1,57 @@
+package org.example.benchmark;
+
+import org.example.annotation.Tool;
+import org.example.core.ToolRegistry;
+import org.example.core.ToolRegistry.ToolExecutor;
+import org.example.tools.Base64Tool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 注册中心分发开销：空工具经注册中心执行与直接调用执行器的差值即为分发成本
+ * Created on 2025/10/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegistryDispatchBenchmark {
+
+    private static final String NOOP_COMMAND = "benchmark-noop";
+
+    private final ToolExecutor noop = parameters -> "ok";
+    private Map<String, String> params;
+
+    @Setup
+    public void setUp() {
+        ToolRegistry.initialize("org.example.tools");
+        ToolRegistry.registerTool(NOOP_COMMAND, noop, Base64Tool.class.getAnnotation(Tool.class));
+        params = new HashMap<>();
+        params.put("orderId", "ORD20251017000001");
+    }
+
+    @Benchmark
+    public String noopDirect() throws Exception {
+        return noop.execute(params);
+    }
+
+    @Benchmark
+    public String noopRegistry() {
+        return ToolRegistry.executeTool(NOOP_COMMAND, params);
+    }
+
+    @Benchmark
+    public String annotatedToolRegistry() {
+        return ToolRegistry.executeTool("shard", params);
+    }
+
+    @Benchmark
+    public String unknownCommand() {
+        return ToolRegistry.executeTool("no-such-command", params);
+    }
+}
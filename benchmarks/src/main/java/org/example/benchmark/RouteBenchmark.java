@@ -0,0 +1,41 @@
+package org.example.benchmark;
+
+import org.example.tools.shard.KeyHashes;
+import org.example.tools.shard.RoutingTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分库分表路由基准：编译好的路由表每次解析一个订单号
+ * Created on 2025/10/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RouteBenchmark {
+
+    private static final int KEY_COUNT = 1024;
+
+    @Param({"slot", "range:3-9:202501,202507,202601/mod"})
+    String dbRule;
+
+    private RoutingTable table;
+    private String[] orderIds;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        table = new RoutingTable(4, 16, dbRule, "hash", KeyHashes.of("murmur3"));
+        orderIds = BenchmarkData.orderIds(KEY_COUNT);
+    }
+
+    @Benchmark
+    public String route() {
+        index = (index + 1) & (KEY_COUNT - 1);
+        return table.route(orderIds[index]);
+    }
+}
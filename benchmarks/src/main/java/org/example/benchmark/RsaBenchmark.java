@@ -0,0 +1,37 @@
+package org.example.benchmark;
+
+import org.example.tools.RsaKeyGeneratorTool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RsaKeyGeneratorTool基准（密钥生成耗时波动大，迭代次数较多）
+ * Created on 2025/10/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RsaBenchmark {
+
+    @Param({"1024", "2048"})
+    String keySize;
+
+    private Map<String, String> params;
+
+    @Setup
+    public void setUp() {
+        params = new HashMap<>();
+        params.put("keySize", keySize);
+    }
+
+    @Benchmark
+    public String generateDirect() {
+        return RsaKeyGeneratorTool.execute(params);
+    }
+}
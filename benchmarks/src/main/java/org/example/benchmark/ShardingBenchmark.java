@@ -0,0 +1,73 @@
+package org.example.benchmark;
+
+import org.example.core.ToolRegistry;
+import org.example.tools.ShardingTool;
+import org.example.tools.shard.ShardStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ShardingTool基准：每次调用轮换不同订单号，避免结果被常量折叠；lookup只测量分片策略本身
+ * Created on 2025/10/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShardingBenchmark {
+
+    private static final int KEY_COUNT = 1024;
+
+    @Param({"mod", "jump", "ring"})
+    String strategy;
+
+    private final ShardingTool tool = new ShardingTool();
+    private Map<String, String>[] params;
+    private long[] hashes;
+    private ShardStrategy shardStrategy;
+    private int index;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        ToolRegistry.initialize("org.example.tools");
+        String[] orderIds = BenchmarkData.orderIds(KEY_COUNT);
+        params = new Map[KEY_COUNT];
+        hashes = new long[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            params[i] = new HashMap<>();
+            params[i].put("orderId", orderIds[i]);
+            params[i].put("shards", "16");
+            params[i].put("strategy", strategy);
+            hashes[i] = orderIds[i].hashCode();
+        }
+        shardStrategy = ShardStrategy.of(strategy, 16, ShardStrategy.DEFAULT_VNODES);
+    }
+
+    private Map<String, String> nextParams() {
+        index = (index + 1) & (KEY_COUNT - 1);
+        return params[index];
+    }
+
+    @Benchmark
+    public int lookup() {
+        index = (index + 1) & (KEY_COUNT - 1);
+        return shardStrategy.shard(hashes[index]);
+    }
+
+    @Benchmark
+    public String shardDirect() throws IOException {
+        return tool.execute(nextParams());
+    }
+
+    @Benchmark
+    public String shardRegistry() {
+        return ToolRegistry.executeTool("shard", nextParams());
+    }
+}
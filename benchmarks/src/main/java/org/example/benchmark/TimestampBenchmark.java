@@ -0,0 +1,95 @@
+package org.example.benchmark;
+
+import org.example.core.ToolRegistry;
+import org.example.tools.TimestampTool;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TimestampTool基准：时间戳转日期、日期转时间戳，以及FastFormatter与DateTimeFormatter的对比
+ * Created on 2025/10/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimestampBenchmark {
+
+    private static final String TIMESTAMP = "1760700000123";
+    private static final String DATE = "2025-10-17 19:20:00";
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private Map<String, String> timestampParams;
+    private Map<String, String> dateParams;
+    private TimestampTool.FastFormatter fastFormatter;
+    private final char[] buffer = new char[TimestampTool.FastFormatter.LENGTH];
+
+    /**
+     * 模拟日志中递增的时间：每次调用前进137毫秒，多数调用落在同一分钟内
+     */
+    private long millis = 1760700000123L;
+
+    @Setup
+    public void setUp() {
+        ToolRegistry.initialize("org.example.tools");
+        timestampParams = new HashMap<>();
+        timestampParams.put("timestamp", TIMESTAMP);
+        dateParams = new HashMap<>();
+        dateParams.put("date", DATE);
+        fastFormatter = new TimestampTool.FastFormatter(ZONE);
+    }
+
+    @Benchmark
+    public String timestampToDateDirect() {
+        return TimestampTool.timestampToDate(TIMESTAMP);
+    }
+
+    @Benchmark
+    public String dateToTimestampDirect() {
+        return TimestampTool.dateToTimestamp(DATE);
+    }
+
+    @Benchmark
+    public String timestampToDateRegistry() {
+        return ToolRegistry.executeTool("timestamp", timestampParams);
+    }
+
+    @Benchmark
+    public String dateToTimestampRegistry() {
+        return ToolRegistry.executeTool("timestamp", dateParams);
+    }
+
+    @Benchmark
+    public String formatDateTimeFormatter() {
+        millis += 137;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZONE).format(FORMATTER);
+    }
+
+    @Benchmark
+    public char[] formatFastFormatter() {
+        millis += 137;
+        fastFormatter.format(Math.floorDiv(millis, 1000), buffer, 0);
+        return buffer;
+    }
+
+    @Benchmark
+    public long parseDateTimeFormatter() {
+        return LocalDateTime.parse(DATE, FORMATTER).atZone(ZONE).toEpochSecond();
+    }
+
+    @Benchmark
+    public long parseFastFormatter() {
+        return fastFormatter.parse(DATE, 0, DATE.length());
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.benchmark;
+
+import org.example.tools.HashTool;
+import org.example.tools.TreeHashTool;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分块树哈希随线程数的扩展性，并以单线程顺序哈希（HashTool.hashFile）作为基线
+ * 文件大小可通过 -p fileSizeMb=N 调整，测试前文件会被读入页缓存，结果反映CPU而非磁盘
+ * Created on 2025/10/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TreeHashBenchmark {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final int CHUNK_SIZE = 4 << 20;
+
+    @Param({"256"})
+    int fileSizeMb;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("treehash-benchmark", ".bin");
+        Random random = new Random(20251017L);
+        byte[] block = new byte[1 << 20];
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int i = 0; i < fileSizeMb; i++) {
+                random.nextBytes(block);
+                out.write(block);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public byte[] treeHash() throws Exception {
+        return TreeHashTool.root(TreeHashTool.hashChunks(file, ALGORITHM, CHUNK_SIZE, threads), ALGORITHM);
+    }
+
+    @Benchmark
+    public byte[][] sequentialHash() throws Exception {
+        return HashTool.hashFile(file, ALGORITHM);
+    }
+}
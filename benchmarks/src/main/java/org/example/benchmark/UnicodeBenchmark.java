@@ -0,0 +1,103 @@
+package org.example.benchmark;
+
+import org.example.core.ToolRegistry;
+import org.example.tools.UnicodeTool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * UnicodeTool基准：直接调用与注册中心分发，legacy为改写前基于正则和String.format的实现
+ * Created on 2025/10/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UnicodeBenchmark {
+
+    @Param({"16", "1024", "1048576"})
+    int size;
+
+    private String plain;
+    private String escaped;
+    private Map<String, String> encodeParams;
+    private Map<String, String> decodeParams;
+
+    @Setup
+    public void setUp() {
+        ToolRegistry.initialize("org.example.tools");
+        plain = BenchmarkData.mixed(size);
+        escaped = UnicodeTool.encodeUnicode(plain);
+        encodeParams = new HashMap<>();
+        encodeParams.put("encode", plain);
+        decodeParams = new HashMap<>();
+        decodeParams.put("decode", escaped);
+    }
+
+    @Benchmark
+    public String encodeDirect() {
+        return UnicodeTool.encodeUnicode(plain);
+    }
+
+    @Benchmark
+    public String decodeDirect() {
+        return UnicodeTool.decodeUnicode(escaped);
+    }
+
+    @Benchmark
+    public String encodeLegacy() {
+        return legacyEncode(plain);
+    }
+
+    @Benchmark
+    public String decodeLegacy() {
+        return legacyDecode(escaped);
+    }
+
+    @Benchmark
+    public String encodeRegistry() {
+        return ToolRegistry.executeTool("unicode", encodeParams);
+    }
+
+    @Benchmark
+    public String decodeRegistry() {
+        return ToolRegistry.executeTool("unicode", decodeParams);
+    }
+
+    /**
+     * 改写前的编码实现，仅作为对比基线
+     */
+    static String legacyEncode(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (char c : input.toCharArray()) {
+            if (c <= 127) {
+                sb.append(c);
+            } else {
+                sb.append("\\u").append(String.format("%04x", (int) c).toUpperCase());
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 改写前的解码实现，仅作为对比基线
+     */
+    static String legacyDecode(String input) {
+        Pattern pattern = Pattern.compile("\\\\u([0-9a-fA-F]{4})");
+        Matcher matcher = pattern.matcher(input);
+        StringBuffer sb = new StringBuffer();
+        while (matcher.find()) {
+            char decodedChar = (char) Integer.parseInt(matcher.group(1), 16);
+            matcher.appendReplacement(sb, Character.toString(decodedChar));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+}
@@ -35,4 +35,30 @@ public @interface Tool {
      * @return
      */
     String[] parameters() default {};
+
+    /**
+     * 是否每次调用都创建新实例（有状态的工具使用），默认复用同一个实例
+     * @return
+     */
+    boolean perCallInstance() default false;
+
+    /**
+     * 是否为纯函数：相同参数总是返回相同结果且没有副作用，结果会被ToolRegistry缓存
+     * 随机生成（如密钥）或依赖当前时间的工具不能标记
+     * @return
+     */
+    boolean pure() default false;
+
+    /**
+     * 纯函数工具中不缓存的参数：调用中出现这些参数（非空）时不缓存，如读写文件的infile/outfile
+     * @return
+     */
+    String[] uncachedParameters() default {};
+
+    /**
+     * 纯函数工具缓存的前提：至少提供其中一个参数（非空），为空数组表示不限制
+     * 用于缺省参数取当前时间之类的工具
+     * @return
+     */
+    String[] cacheRequires() default {};
 }
@@ -0,0 +1,121 @@
+package org.example.annotation.processor;
+
+import org.example.annotation.Tool;
+import org.example.annotation.ToolMethod;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 工具索引注解处理器 - 编译期收集@Tool类并生成索引文件，运行时免去类路径扫描
+ * Created on 2025/10/17
+ */
+@SupportedAnnotationTypes("org.example.annotation.Tool")
+public class ToolIndexProcessor extends AbstractProcessor {
+
+    /**
+     * 索引文件位置（每行一个工具类的全限定名）
+     */
+    public static final String INDEX_RESOURCE = "META-INF/c-toolkit/tools.idx";
+
+    private final Set<String> toolClasses = new TreeSet<>();
+    private Filer filer;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        filer = processingEnv.getFiler();
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Tool.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "@Tool只能用于类", element);
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            if (validate(type)) {
+                toolClasses.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+            }
+        }
+
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    /**
+     * 检查工具类是否能被ToolRegistry注册（与运行时的查找规则保持一致）
+     */
+    private boolean validate(TypeElement type) {
+        if (!type.getModifiers().contains(Modifier.PUBLIC) || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "工具类必须是public的非抽象类", type);
+            return false;
+        }
+
+        ExecutableElement executeMethod = null;
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (!method.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            if (method.getAnnotation(ToolMethod.class) != null) {
+                executeMethod = method;
+                break;
+            }
+            if (executeMethod == null && "execute".contentEquals(method.getSimpleName())
+                    && method.getParameters().size() == 1) {
+                executeMethod = method;
+            }
+        }
+        if (executeMethod == null) {
+            // 方法可能继承自父类，交给运行时判断
+            messager.printMessage(Diagnostic.Kind.WARNING,
+                    "类中没有@ToolMethod或execute(Map)方法，将在运行时从父类查找", type);
+        }
+        return true;
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# 由ToolIndexProcessor生成，请勿手动修改\n");
+                for (String className : toolClasses) {
+                    writer.write(className);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "写入工具索引失败: " + e.getMessage());
+        }
+    }
+}
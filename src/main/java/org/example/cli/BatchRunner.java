@@ -0,0 +1,153 @@
+package org.example.cli;
+
+import org.example.core.ParallelLineProcessor;
+import org.example.core.ToolRegistry;
+import org.example.core.ToolRegistry.ToolInfo;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 命令行批处理 - 对输入的每一行执行同一个工具，多核并行，按输入顺序输出
+ * 用法: --batch <command> [--in=文件] [--out=文件] [--field=参数名|--records] [--threads=N] [固定参数...]
+ * Created on 2025/10/17
+ */
+public class BatchRunner {
+
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private final String command;
+    private final Map<String, String> fixedParams;
+    private String input;
+    private String output;
+    private String field;
+    private boolean records;
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private BatchRunner(String command, Map<String, String> fixedParams) {
+        this.command = command;
+        this.fixedParams = fixedParams;
+    }
+
+    /**
+     * 解析批处理参数
+     * @param args 命令及参数（不含--batch）
+     * @return 批处理器，参数错误时返回null
+     */
+    static BatchRunner parse(String[] args) {
+        if (args.length == 0) {
+            System.out.println("错误: 批处理需要指定命令");
+            return null;
+        }
+
+        List<String> toolArgs = new ArrayList<>();
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--")) {
+                String[] parts = arg.substring(2).split("=", 2);
+                options.put(parts[0], parts.length > 1 ? parts[1] : "");
+            } else {
+                toolArgs.add(arg);
+            }
+        }
+
+        BatchRunner runner = new BatchRunner(args[0], ToolCLI.parseParams(toolArgs.toArray(new String[0])));
+        runner.input = options.get("in");
+        runner.output = options.get("out");
+        runner.field = options.get("field");
+        runner.records = options.containsKey("records");
+        if (options.containsKey("threads")) {
+            try {
+                runner.threads = Math.max(1, Integer.parseInt(options.get("threads")));
+            } catch (NumberFormatException e) {
+                // 使用默认值
+            }
+        }
+        return runner;
+    }
+
+    /**
+     * 执行批处理，结果写到输出，统计信息写到标准错误
+     */
+    void run() throws IOException {
+        ToolInfo info = ToolRegistry.getToolInfo(command);
+        if (info == null) {
+            System.out.println("未找到命令: " + command);
+            return;
+        }
+        if (!records && field == null) {
+            if (info.parameters.length == 0) {
+                System.out.println("错误: 工具 " + command + " 没有参数, 请使用--records");
+                return;
+            }
+            // 默认把每行作为工具的第一个参数
+            field = info.parameters[0].split(":", 2)[0];
+        }
+
+        long start = System.nanoTime();
+        long count;
+        try (BufferedReader reader = openInput(); Writer writer = openOutput()) {
+            count = new ParallelLineProcessor(threads).process(reader, writer, this::executeLine);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.err.printf("批处理完成: %d 条, 耗时 %.3f 秒, %.0f 条/秒 (%d 线程)%n",
+                count, seconds, seconds > 0 ? count / seconds : 0, threads);
+        System.err.println("结果缓存: " + ToolRegistry.getCacheStats());
+    }
+
+    /**
+     * 对一行输入执行工具，多行结果以制表符连接，保证输出与输入逐行对应
+     */
+    private String executeLine(String line) {
+        if (line.isEmpty()) {
+            return "";
+        }
+
+        Map<String, String> params = new HashMap<>(fixedParams);
+        if (records) {
+            params.putAll(ToolCLI.parseParams(line.split("\t")));
+        } else {
+            params.put(field, line);
+        }
+
+        String result = ToolRegistry.executeTool(command, params);
+        return result.indexOf('\n') < 0 ? result : result.replace("\r\n", "\t").replace('\n', '\t');
+    }
+
+    private BufferedReader openInput() throws IOException {
+        if (input == null || input.isEmpty() || "-".equals(input)) {
+            // 与文件输入一样按UTF-8读取，不随平台默认编码变化
+            return new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+        }
+        return new BufferedReader(new InputStreamReader(Files.newInputStream(Paths.get(input)),
+                StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+    }
+
+    private Writer openOutput() throws IOException {
+        if (output == null || output.isEmpty() || "-".equals(output)) {
+            // 按UTF-8写出，不关闭标准输出
+            return new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), IO_BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            };
+        }
+        return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(Paths.get(output)),
+                StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+    }
+}
@@ -1,5 +1,7 @@
 package org.example.cli;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -7,6 +9,8 @@ import java.util.Set;
 import org.example.core.ToolRegistry;
 import org.example.core.ToolRegistry.ToolInfo;
 import org.example.gui.ToolGUI;
+import org.example.server.ToolClient;
+import org.example.server.ToolServer;
 
 
 /**
@@ -15,7 +19,16 @@ import org.example.gui.ToolGUI;
  */
 public class ToolCLI {
 
+    private static final int DEFAULT_WARMUP_ITERATIONS = 1000;
+    private static final int DEFAULT_METRICS_INTERVAL_SECONDS = 15;
+
     public static void main(String[] args) {
+        // 客户端模式：转发到常驻服务，本进程不初始化工具注册
+        if (args.length > 0 && ("--remote".equals(args[0]) || "-r".equals(args[0]))) {
+            runRemote(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
         // 初始化工具注册
         ToolRegistry.initialize("org.example.tools");
 
@@ -32,6 +45,25 @@ public class ToolCLI {
             return;
         }
 
+        // 常驻服务模式：--server [--port=N] [--warmup[=N]]
+        if ("--server".equals(args[0]) || "-s".equals(args[0])) {
+            runServer(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        // 批处理模式：--batch <command> [选项] [固定参数]
+        if ("--batch".equals(args[0]) || "-b".equals(args[0])) {
+            BatchRunner runner = BatchRunner.parse(Arrays.copyOfRange(args, 1, args.length));
+            if (runner != null) {
+                try {
+                    runner.run();
+                } catch (IOException e) {
+                    System.err.println("批处理失败: " + e.getMessage());
+                }
+            }
+            return;
+        }
+
         String command = args[0];
 
         // 检查命令是否存在
@@ -49,9 +81,76 @@ public class ToolCLI {
         System.out.println(result);
     }
 
+    private static void runServer(String[] args) {
+        int port = ToolServer.DEFAULT_PORT;
+        int warmupIterations = 0;
+        String metricsFile = null;
+        int metricsInterval = DEFAULT_METRICS_INTERVAL_SECONDS;
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) {
+                port = parseInt(arg.substring("--port=".length()), port);
+            } else if ("--warmup".equals(arg)) {
+                warmupIterations = DEFAULT_WARMUP_ITERATIONS;
+            } else if (arg.startsWith("--warmup=")) {
+                warmupIterations = parseInt(arg.substring("--warmup=".length()), DEFAULT_WARMUP_ITERATIONS);
+            } else if (arg.startsWith("--metrics-file=")) {
+                metricsFile = arg.substring("--metrics-file=".length());
+            } else if (arg.startsWith("--metrics-interval=")) {
+                metricsInterval = parseInt(arg.substring("--metrics-interval=".length()), metricsInterval);
+            }
+        }
+
+        try {
+            ToolServer server = ToolServer.start(port, warmupIterations);
+            if (metricsFile != null && !metricsFile.isEmpty()) {
+                server.exportMetrics(Paths.get(metricsFile), metricsInterval);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "tool-server-shutdown"));
+            System.err.println("常驻服务已启动: http://127.0.0.1:" + server.getPort());
+        } catch (IOException e) {
+            System.err.println("常驻服务启动失败: " + e.getMessage());
+        }
+    }
+
+    private static void runRemote(String[] args) {
+        int port = ToolServer.DEFAULT_PORT;
+        int offset = 0;
+        if (args.length > 0 && args[0].startsWith("--port=")) {
+            port = parseInt(args[0].substring("--port=".length()), port);
+            offset = 1;
+        }
+        if (args.length <= offset) {
+            System.out.println("使用方法: java ToolCLI --remote [--port=N] <command> [参数]");
+            return;
+        }
+
+        String command = args[offset];
+        Map<String, String> params = parseParams(Arrays.copyOfRange(args, offset + 1, args.length));
+        try {
+            System.out.println(new ToolClient(port).execute(command, params));
+        } catch (IOException e) {
+            // 服务不可用时在本进程执行，脚本无需区分
+            System.err.println("常驻服务不可用(" + e.getMessage() + "), 改为本地执行");
+            main(Arrays.copyOfRange(args, offset, args.length));
+        }
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     private static void printHelp() {
         System.out.println("c-toolkit命令行界面");
         System.out.println("使用方法: java ToolCLI <command> [参数]");
+        System.out.println("批处理: java ToolCLI --batch <command> [--in=文件] [--out=文件] [--field=参数名|--records] [--threads=N] [固定参数]");
+        System.out.println("      每行输入作为--field指定的参数(默认第一个参数), --records时每行为制表符分隔的key=value");
+        System.out.println("常驻服务: java ToolCLI --server [--port=N] [--warmup[=N]] [--metrics-file=文件] [--metrics-interval=秒]");
+        System.out.println("      GET /metrics 返回Prometheus格式指标, --metrics-file定期写入指标文件(默认每15秒)");
+        System.out.println("客户端: java ToolCLI --remote [--port=N] <command> [参数]");
         System.out.println();
         System.out.println("可用命令:");
 
@@ -78,7 +177,7 @@ public class ToolCLI {
         System.out.println("可用命令: " + String.join(", ", ToolRegistry.getAllToolCommands()));
     }
 
-    private static Map<String, String> parseParams(String[] args) {
+    static Map<String, String> parseParams(String[] args) {
         Map<String, String> params = new HashMap<>();
 
         for (String arg : args) {
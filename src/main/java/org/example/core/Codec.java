@@ -0,0 +1,269 @@
+package org.example.core;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 十六进制与Base64编解码 - 基于查找表，直接写入调用方提供的byte[]/char[]/ByteBuffer，不产生中间对象
+ * Base64解码规则与java.util.Base64.getDecoder()一致：末尾填充可省略，非法字符抛出IllegalArgumentException
+ * Created on 2025/10/17
+ */
+public final class Codec {
+
+    private static final char[] HEX_LOWER = "0123456789abcdef".toCharArray();
+    private static final char[] HEX_UPPER = "0123456789ABCDEF".toCharArray();
+
+    private static final byte[] BASE64_STANDARD =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BASE64_URL_SAFE =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final byte PAD = '=';
+
+    /**
+     * 字符到数值的反查表，-1表示非法字符
+     */
+    private static final byte[] HEX_VALUES = new byte[128];
+    private static final byte[] BASE64_STANDARD_VALUES = new byte[128];
+    private static final byte[] BASE64_URL_SAFE_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        Arrays.fill(BASE64_STANDARD_VALUES, (byte) -1);
+        Arrays.fill(BASE64_URL_SAFE_VALUES, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            HEX_VALUES[HEX_LOWER[i]] = (byte) i;
+            HEX_VALUES[HEX_UPPER[i]] = (byte) i;
+        }
+        for (int i = 0; i < 64; i++) {
+            BASE64_STANDARD_VALUES[BASE64_STANDARD[i]] = (byte) i;
+            BASE64_URL_SAFE_VALUES[BASE64_URL_SAFE[i]] = (byte) i;
+        }
+    }
+
+    private Codec() {
+    }
+
+    // ---------------- 十六进制 ----------------
+
+    /**
+     * 字节数组转小写十六进制字符串
+     */
+    public static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        encodeHex(bytes, 0, bytes.length, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * 编码为小写十六进制字符
+     * @return 写入的字符数
+     */
+    public static int encodeHex(byte[] src, int srcOffset, int length, char[] dst, int dstOffset) {
+        int d = dstOffset;
+        for (int i = srcOffset, end = srcOffset + length; i < end; i++) {
+            int b = src[i] & 0xff;
+            dst[d++] = HEX_LOWER[b >>> 4];
+            dst[d++] = HEX_LOWER[b & 0xf];
+        }
+        return d - dstOffset;
+    }
+
+    /**
+     * 编码为小写十六进制ASCII字节
+     * @return 写入的字节数
+     */
+    public static int encodeHex(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset) {
+        int d = dstOffset;
+        for (int i = srcOffset, end = srcOffset + length; i < end; i++) {
+            int b = src[i] & 0xff;
+            dst[d++] = (byte) HEX_LOWER[b >>> 4];
+            dst[d++] = (byte) HEX_LOWER[b & 0xf];
+        }
+        return d - dstOffset;
+    }
+
+    /**
+     * 追加固定位数的大写十六进制（不足补0），如 appendHexUpper(sb, 0x4e2d, 4) 追加 "4E2D"
+     */
+    public static StringBuilder appendHexUpper(StringBuilder sb, int value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            sb.append(HEX_UPPER[(value >>> shift) & 0xf]);
+        }
+        return sb;
+    }
+
+    /**
+     * 十六进制字符的数值
+     * @return 0-15，非十六进制字符返回-1
+     */
+    public static int hexValue(char c) {
+        return c < 128 ? HEX_VALUES[c] : -1;
+    }
+
+    // ---------------- Base64 ----------------
+
+    /**
+     * 编码后的长度（含填充）
+     */
+    public static int base64EncodedLength(int length) {
+        return (length + 2) / 3 * 4;
+    }
+
+    /**
+     * 解码后的最大长度
+     */
+    public static int base64DecodedMaxLength(int encodedLength) {
+        return encodedLength / 4 * 3 + 2;
+    }
+
+    /**
+     * 标准Base64编码为字符串
+     */
+    public static String toBase64(byte[] bytes) {
+        byte[] encoded = new byte[base64EncodedLength(bytes.length)];
+        encodeBase64(bytes, 0, bytes.length, encoded, 0, false);
+        return new String(encoded, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Base64编码为ASCII字节（含填充）
+     * @param urlSafe 是否使用URL安全字母表（-和_）
+     * @return 写入的字节数
+     */
+    public static int encodeBase64(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset, boolean urlSafe) {
+        byte[] table = urlSafe ? BASE64_URL_SAFE : BASE64_STANDARD;
+        int d = dstOffset;
+        int i = srcOffset;
+        for (int end = srcOffset + length - length % 3; i < end; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[d++] = table[bits >>> 18];
+            dst[d++] = table[(bits >>> 12) & 0x3f];
+            dst[d++] = table[(bits >>> 6) & 0x3f];
+            dst[d++] = table[bits & 0x3f];
+        }
+        int remaining = srcOffset + length - i;
+        if (remaining > 0) {
+            int bits = (src[i] & 0xff) << 16 | (remaining == 2 ? (src[i + 1] & 0xff) << 8 : 0);
+            dst[d++] = table[bits >>> 18];
+            dst[d++] = table[(bits >>> 12) & 0x3f];
+            dst[d++] = remaining == 2 ? table[(bits >>> 6) & 0x3f] : PAD;
+            dst[d++] = PAD;
+        }
+        return d - dstOffset;
+    }
+
+    /**
+     * Base64编码为字符（含填充）
+     * @return 写入的字符数
+     */
+    public static int encodeBase64(byte[] src, int srcOffset, int length, char[] dst, int dstOffset, boolean urlSafe) {
+        byte[] table = urlSafe ? BASE64_URL_SAFE : BASE64_STANDARD;
+        int d = dstOffset;
+        int i = srcOffset;
+        for (int end = srcOffset + length - length % 3; i < end; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[d++] = (char) table[bits >>> 18];
+            dst[d++] = (char) table[(bits >>> 12) & 0x3f];
+            dst[d++] = (char) table[(bits >>> 6) & 0x3f];
+            dst[d++] = (char) table[bits & 0x3f];
+        }
+        int remaining = srcOffset + length - i;
+        if (remaining > 0) {
+            int bits = (src[i] & 0xff) << 16 | (remaining == 2 ? (src[i + 1] & 0xff) << 8 : 0);
+            dst[d++] = (char) table[bits >>> 18];
+            dst[d++] = (char) table[(bits >>> 12) & 0x3f];
+            dst[d++] = remaining == 2 ? (char) table[(bits >>> 6) & 0x3f] : (char) PAD;
+            dst[d++] = (char) PAD;
+        }
+        return d - dstOffset;
+    }
+
+    /**
+     * Base64编码src的全部剩余字节并写入dst（含填充），两者的position随之前移
+     */
+    public static void encodeBase64(ByteBuffer src, ByteBuffer dst, boolean urlSafe) {
+        int length = src.remaining();
+        if (dst.remaining() < base64EncodedLength(length)) {
+            throw new BufferOverflowException();
+        }
+        if (src.hasArray() && dst.hasArray()) {
+            int written = encodeBase64(src.array(), src.arrayOffset() + src.position(), length,
+                    dst.array(), dst.arrayOffset() + dst.position(), urlSafe);
+            src.position(src.limit());
+            dst.position(dst.position() + written);
+            return;
+        }
+        byte[] table = urlSafe ? BASE64_URL_SAFE : BASE64_STANDARD;
+        while (src.remaining() >= 3) {
+            int bits = (src.get() & 0xff) << 16 | (src.get() & 0xff) << 8 | (src.get() & 0xff);
+            dst.put(table[bits >>> 18]).put(table[(bits >>> 12) & 0x3f])
+                    .put(table[(bits >>> 6) & 0x3f]).put(table[bits & 0x3f]);
+        }
+        int remaining = src.remaining();
+        if (remaining > 0) {
+            int bits = (src.get() & 0xff) << 16 | (remaining == 2 ? (src.get() & 0xff) << 8 : 0);
+            dst.put(table[bits >>> 18]).put(table[(bits >>> 12) & 0x3f])
+                    .put(remaining == 2 ? table[(bits >>> 6) & 0x3f] : PAD).put(PAD);
+        }
+    }
+
+    /**
+     * 直接从字符序列解码标准Base64，无需先转换为字节数组
+     * @param dst 目标数组，长度至少为base64DecodedMaxLength(src.length())
+     * @return 写入的字节数
+     * @throws IllegalArgumentException 输入不是合法的Base64
+     */
+    public static int decodeBase64(CharSequence src, byte[] dst, int dstOffset) {
+        return decodeBase64(src, dst, dstOffset, false);
+    }
+
+    /**
+     * 解码Base64
+     * @param urlSafe 是否使用URL安全字母表（-和_）
+     */
+    public static int decodeBase64(CharSequence src, byte[] dst, int dstOffset, boolean urlSafe) {
+        byte[] values = urlSafe ? BASE64_URL_SAFE_VALUES : BASE64_STANDARD_VALUES;
+        int length = src.length();
+        int padding = 0;
+        while (padding < 2 && length > padding && src.charAt(length - 1 - padding) == PAD) {
+            padding++;
+        }
+        if (padding > 0 && length % 4 != 0) {
+            throw new IllegalArgumentException("Input byte array has wrong 4-byte ending unit");
+        }
+        int dataLength = length - padding;
+        if (dataLength % 4 == 1) {
+            throw new IllegalArgumentException("Last unit does not have enough valid bits");
+        }
+
+        int d = dstOffset;
+        int i = 0;
+        for (int end = dataLength - dataLength % 4; i < end; i += 4) {
+            int bits = value(values, src.charAt(i)) << 18 | value(values, src.charAt(i + 1)) << 12
+                    | value(values, src.charAt(i + 2)) << 6 | value(values, src.charAt(i + 3));
+            dst[d++] = (byte) (bits >>> 16);
+            dst[d++] = (byte) (bits >>> 8);
+            dst[d++] = (byte) bits;
+        }
+        int remaining = dataLength - i;
+        if (remaining >= 2) {
+            int bits = value(values, src.charAt(i)) << 18 | value(values, src.charAt(i + 1)) << 12
+                    | (remaining == 3 ? value(values, src.charAt(i + 2)) << 6 : 0);
+            dst[d++] = (byte) (bits >>> 16);
+            if (remaining == 3) {
+                dst[d++] = (byte) (bits >>> 8);
+            }
+        }
+        return d - dstOffset;
+    }
+
+    private static int value(byte[] values, char c) {
+        int value = c < 128 ? values[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("Illegal base64 character " + Integer.toHexString(c));
+        }
+        return value;
+    }
+}
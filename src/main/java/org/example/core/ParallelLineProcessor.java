@@ -0,0 +1,206 @@
+package org.example.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 并行行处理器 - 按块把输入行分发到线程池处理，并按输入顺序写出结果
+ * 同时在途的块数量有上限，读取速度超过处理速度时会等待最早的块完成（背压）
+ * 不需要输出时可使用consume：每个工作线程持有自己的状态对象（如计数数组），结束后由调用方合并，处理过程中无需同步
+ * Created on 2025/10/17
+ */
+public class ParallelLineProcessor {
+
+    private static final int DEFAULT_CHUNK_SIZE = 512;
+    private static final AtomicInteger POOL_SEQUENCE = new AtomicInteger();
+
+    private final int threads;
+    private final int chunkSize;
+    private final int maxInFlightChunks;
+
+    public ParallelLineProcessor(int threads) {
+        this(threads, DEFAULT_CHUNK_SIZE, threads * 4);
+    }
+
+    /**
+     * @param threads 工作线程数
+     * @param chunkSize 每个任务处理的行数
+     * @param maxInFlightChunks 同时在途的最大块数
+     */
+    public ParallelLineProcessor(int threads, int chunkSize, int maxInFlightChunks) {
+        if (threads < 1 || chunkSize < 1 || maxInFlightChunks < 1) {
+            throw new IllegalArgumentException("threads, chunkSize and maxInFlightChunks must be positive");
+        }
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+        this.maxInFlightChunks = maxInFlightChunks;
+    }
+
+    /**
+     * 处理所有输入行，每行输出一行结果
+     * @param reader 输入
+     * @param writer 输出（调用方负责缓冲和关闭）
+     * @param function 行处理函数，会被多个线程同时调用
+     * @return 处理的行数
+     */
+    public long process(BufferedReader reader, Writer writer, Function<String, String> function) throws IOException {
+        ExecutorService pool = newPool();
+        Deque<Future<String[]>> inFlight = new ArrayDeque<>();
+        long count = 0;
+        try {
+            List<String> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                chunk.add(line);
+                if (chunk.size() == chunkSize) {
+                    if (inFlight.size() >= maxInFlightChunks) {
+                        count += writeChunk(inFlight.poll(), writer);
+                    }
+                    inFlight.add(submit(pool, chunk, function));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                inFlight.add(submit(pool, chunk, function));
+            }
+            while (!inFlight.isEmpty()) {
+                count += writeChunk(inFlight.poll(), writer);
+            }
+            writer.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+        return count;
+    }
+
+    /**
+     * 无序处理所有输入行，每个工作线程把行累加到自己的状态对象中
+     * @param reader 输入
+     * @param stateFactory 为每个工作线程创建一个状态对象
+     * @param consumer 把一行累加到当前线程的状态对象，同一状态对象只会被一个线程访问
+     * @return 所有工作线程的状态对象，由调用方合并
+     */
+    public <S> List<S> consume(BufferedReader reader, Supplier<S> stateFactory, BiConsumer<S, String> consumer)
+            throws IOException {
+        BlockingQueue<List<String>> queue = new ArrayBlockingQueue<>(maxInFlightChunks);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService pool = newPool();
+        List<Future<S>> workers = new ArrayList<>(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                workers.add(pool.submit(() -> {
+                    S state = stateFactory.get();
+                    List<String> chunk;
+                    // 空块表示输入结束；出错后继续取出剩余的块，避免读取线程阻塞
+                    while (!(chunk = queue.take()).isEmpty()) {
+                        if (failure.get() != null) {
+                            continue;
+                        }
+                        try {
+                            for (String line : chunk) {
+                                consumer.accept(state, line);
+                            }
+                        } catch (RuntimeException | Error e) {
+                            failure.compareAndSet(null, e);
+                        }
+                    }
+                    return state;
+                }));
+            }
+
+            List<String> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null && failure.get() == null) {
+                chunk.add(line);
+                if (chunk.size() == chunkSize) {
+                    queue.put(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                queue.put(chunk);
+            }
+            for (int i = 0; i < threads; i++) {
+                queue.put(new ArrayList<>(0));
+            }
+
+            List<S> states = new ArrayList<>(threads);
+            for (Future<S> worker : workers) {
+                states.add(worker.get());
+            }
+            Throwable cause = failure.get();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause != null) {
+                throw new IOException("行处理失败: " + cause, cause);
+            }
+            return states;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("处理被中断", e);
+        } catch (ExecutionException e) {
+            throw new IOException("行处理失败: " + e.getCause(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Future<String[]> submit(ExecutorService pool, List<String> chunk, Function<String, String> function) {
+        return pool.submit(() -> {
+            String[] results = new String[chunk.size()];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = function.apply(chunk.get(i));
+            }
+            return results;
+        });
+    }
+
+    private static int writeChunk(Future<String[]> future, Writer writer) throws IOException {
+        String[] results;
+        try {
+            results = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("处理被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            throw new IOException("行处理失败: " + cause, cause);
+        }
+        for (String result : results) {
+            writer.write(result);
+            writer.write('\n');
+        }
+        return results.length;
+    }
+
+    private ExecutorService newPool() {
+        int poolId = POOL_SEQUENCE.incrementAndGet();
+        AtomicInteger threadId = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "line-worker-" + poolId + "-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
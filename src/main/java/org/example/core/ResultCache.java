@@ -0,0 +1,250 @@
+package org.example.core;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 纯函数工具的结果缓存 - 按估算的内存字节数限制容量，用CLOCK（二次机会）算法近似LRU淘汰
+ * 读路径无锁：命中只是一次ConcurrentHashMap查询加设置访问标记，不像访问顺序的LinkedHashMap那样每次移动链表节点；
+ * 超出容量时由一个线程按写入顺序扫描，最近被访问过的条目清除标记后放回队尾，其余的淘汰
+ * 键是命令与按参数名排序的参数拼成的一个字符串，比较时只访问一个字符数组，比以Map为键少了多次指针跳转
+ * Created on 2025/10/17
+ */
+public final class ResultCache {
+
+    /**
+     * 每个条目除字符内容外的固定开销估算（哈希表节点、条目、两个String及其数组的对象头等）
+     */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    /**
+     * 单个结果最多占总容量的比例（1/N），避免一个大结果清空整个缓存
+     */
+    private static final int MAX_ENTRY_FRACTION = 64;
+
+    private final ConcurrentHashMap<String, Entry> map = new ConcurrentHashMap<>();
+    /**
+     * CLOCK的环：按写入顺序排列的条目，二次机会的条目重新放回队尾
+     */
+    private final ConcurrentLinkedQueue<Entry> clock = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final AtomicLong bytes = new AtomicLong();
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxBytes 缓存总容量（字节），0表示不缓存
+     */
+    public ResultCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must not be negative");
+        }
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxBytes / MAX_ENTRY_FRACTION;
+    }
+
+    /**
+     * 查询缓存，同时计入命中或未命中
+     * @return 缓存的结果，没有时返回null
+     */
+    public String get(String command, Map<String, String> parameters) {
+        return get(key(command, parameters));
+    }
+
+    /**
+     * 按key(command, parameters)生成的键查询，调用方需要先查后写时可只生成一次键
+     */
+    public String get(String key) {
+        if (maxBytes == 0) {
+            return null;
+        }
+        Entry entry = map.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (!entry.referenced) {
+            // 已经置位时不再写，避免热点条目所在的缓存行被反复写脏
+            entry.referenced = true;
+        }
+        hits.increment();
+        return entry.result;
+    }
+
+    /**
+     * 写入结果，超过单条上限的结果不缓存
+     */
+    public void put(String command, Map<String, String> parameters, String result) {
+        put(key(command, parameters), result);
+    }
+
+    public void put(String key, String result) {
+        if (maxBytes == 0) {
+            return;
+        }
+        long weight = ENTRY_OVERHEAD + 2L * (key.length() + result.length());
+        if (weight > maxEntryBytes) {
+            return;
+        }
+        Entry entry = new Entry(key, result, weight);
+        Entry previous = map.putIfAbsent(key, entry);
+        if (previous != null) {
+            // 采样的调用会重复写入相同的结果，保留已有条目，环中不追加节点
+            if (previous.result.equals(result) || !map.replace(key, previous, entry)) {
+                return;
+            }
+            // 结果不同（工具被覆盖时才会出现）则替换，同时移出旧节点，环与哈希表保持一一对应
+            clock.remove(previous);
+            bytes.addAndGet(-previous.weight);
+        }
+        clock.offer(entry);
+        if (bytes.addAndGet(weight) > maxBytes) {
+            evict();
+        }
+    }
+
+    /**
+     * 参数是否小到可以作为键缓存，生成键之前检查，避免为大参数复制字符串
+     */
+    public boolean admits(String command, Map<String, String> parameters) {
+        long chars = command.length();
+        for (Map.Entry<String, String> entry : parameters.entrySet()) {
+            chars += entry.getKey().length() + 2 + (entry.getValue() == null ? 0 : entry.getValue().length());
+        }
+        return ENTRY_OVERHEAD + 2 * chars <= maxEntryBytes;
+    }
+
+    /**
+     * 清空缓存，计数不变
+     */
+    public void clear() {
+        evictionLock.lock();
+        try {
+            map.clear();
+            clock.clear();
+            bytes.set(0);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 清零命中、未命中和淘汰计数，条目不变
+     */
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), map.size(), bytes.get(), maxBytes);
+    }
+
+    /**
+     * 淘汰到容量以内，同一时间只有一个线程扫描，其它线程直接返回
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            // 每个条目最多给一次二次机会，扫描两圈后必然能淘汰
+            long budget = 2L * map.size() + 16;
+            Entry entry;
+            while (bytes.get() > maxBytes && budget-- > 0 && (entry = clock.poll()) != null) {
+                if (map.get(entry.key) != entry) {
+                    // 已被覆盖或清除
+                    continue;
+                }
+                if (entry.referenced) {
+                    entry.referenced = false;
+                    clock.offer(entry);
+                } else if (map.remove(entry.key, entry)) {
+                    bytes.addAndGet(-entry.weight);
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 缓存键：命令与按参数名排序的参数，以不会出现在命令行参数中的控制字符分隔
+     */
+    public static String key(String command, Map<String, String> parameters) {
+        StringBuilder sb = new StringBuilder(command.length() + 32).append(command);
+        if (parameters.size() == 1) {
+            Map.Entry<String, String> entry = parameters.entrySet().iterator().next();
+            return appendParameter(sb, entry.getKey(), entry.getValue()).toString();
+        }
+        String[] names = parameters.keySet().toArray(new String[0]);
+        Arrays.sort(names);
+        for (String name : names) {
+            appendParameter(sb, name, parameters.get(name));
+        }
+        return sb.toString();
+    }
+
+    private static StringBuilder appendParameter(StringBuilder sb, String name, String value) {
+        sb.append('\u0000').append(name);
+        return value == null ? sb : sb.append('\u0001').append(value);
+    }
+
+    private static final class Entry {
+        final String key;
+        final String result;
+        final long weight;
+        /**
+         * CLOCK访问标记，只作为淘汰提示，无需volatile
+         */
+        boolean referenced;
+
+        Entry(String key, String result, long weight) {
+            this.key = key;
+            this.result = result;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * 缓存统计快照
+     */
+    public static final class Stats {
+        public final long hits;
+        public final long misses;
+        public final long evictions;
+        public final long entries;
+        public final long bytes;
+        public final long maxBytes;
+
+        Stats(long hits, long misses, long evictions, long entries, long bytes, long maxBytes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.entries = entries;
+            this.bytes = bytes;
+            this.maxBytes = maxBytes;
+        }
+
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("命中: %d, 未命中: %d, 命中率: %.1f%%, 淘汰: %d, 条目: %d, 占用: %d/%d 字节",
+                    hits, misses, hitRate() * 100, evictions, entries, bytes, maxBytes);
+        }
+    }
+}
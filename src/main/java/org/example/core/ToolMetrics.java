@@ -0,0 +1,164 @@
+package org.example.core;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个命令的运行指标：调用数、错误数、正在执行的调用数和延迟直方图
+ * 热路径上只有开始时一次LongAdder累加、结束时一次直方图记录（出错时再加一次错误数），不加锁；
+ * 完成的调用数就是直方图的记录数，执行中数量为开始数减完成数
+ * Created on 2025/10/17
+ */
+public final class ToolMetrics {
+
+    private final LongAdder started = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * 调用开始
+     * @return 开始时间，传给{@link #finish}
+     */
+    long start() {
+        started.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * 调用结束
+     * @param error 是否抛出异常或返回了"错误"开头的结果
+     */
+    void finish(long startNanos, boolean error) {
+        latency.record(System.nanoTime() - startNanos);
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * 清零调用数、错误数和直方图，正在执行的调用数不变（与并发调用之间不保证精确）
+     */
+    void reset() {
+        long completed = latency.snapshot().count();
+        latency.reset();
+        errors.reset();
+        started.add(-completed);
+    }
+
+    public Snapshot snapshot() {
+        // 先读完成数再读开始数，执行中数量不会为负
+        LatencyHistogram.Snapshot latencySnapshot = latency.snapshot();
+        long inFlight = Math.max(0, started.sum() - latencySnapshot.count());
+        return new Snapshot(latencySnapshot.count(), errors.sum(), inFlight, latencySnapshot);
+    }
+
+    /**
+     * 指标快照
+     */
+    public static final class Snapshot {
+        public final long calls;
+        public final long errors;
+        public final long inFlight;
+        public final LatencyHistogram.Snapshot latency;
+
+        Snapshot(long calls, long errors, long inFlight, LatencyHistogram.Snapshot latency) {
+            this.calls = calls;
+            this.errors = errors;
+            this.inFlight = inFlight;
+            this.latency = latency;
+        }
+    }
+
+    /**
+     * 格式化为文本表格，每个命令一行
+     */
+    public static String formatTable(Map<String, Snapshot> snapshots) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-12s %10s %8s %6s %10s %10s %10s %10s %10s%n",
+                "命令", "调用", "错误", "执行中", "平均", "p50", "p99", "p999", "最大"));
+        for (Map.Entry<String, Snapshot> entry : snapshots.entrySet()) {
+            Snapshot s = entry.getValue();
+            LatencyHistogram.Snapshot l = s.latency;
+            sb.append(String.format("%-12s %10d %8d %6d %10s %10s %10s %10s %10s%n",
+                    entry.getKey(), s.calls, s.errors, s.inFlight,
+                    LatencyHistogram.Snapshot.format((long) l.mean()),
+                    LatencyHistogram.Snapshot.format(l.percentile(0.5)),
+                    LatencyHistogram.Snapshot.format(l.percentile(0.99)),
+                    LatencyHistogram.Snapshot.format(l.percentile(0.999)),
+                    LatencyHistogram.Snapshot.format(l.max())));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 导出为Prometheus文本格式（text/plain; version=0.0.4）
+     * 延迟以summary形式导出p50/p99/p999，另附缓存统计
+     */
+    public static String formatPrometheus(Map<String, Snapshot> snapshots, ResultCache.Stats cache) {
+        StringBuilder sb = new StringBuilder(256 + snapshots.size() * 512);
+        sb.append("# HELP toolkit_calls_total Completed tool calls.\n# TYPE toolkit_calls_total counter\n");
+        for (Map.Entry<String, Snapshot> entry : snapshots.entrySet()) {
+            metric(sb, "toolkit_calls_total", entry.getKey(), null, entry.getValue().calls);
+        }
+        sb.append("# HELP toolkit_errors_total Tool calls that threw or returned an error.\n"
+                + "# TYPE toolkit_errors_total counter\n");
+        for (Map.Entry<String, Snapshot> entry : snapshots.entrySet()) {
+            metric(sb, "toolkit_errors_total", entry.getKey(), null, entry.getValue().errors);
+        }
+        sb.append("# HELP toolkit_in_flight Tool calls currently executing.\n# TYPE toolkit_in_flight gauge\n");
+        for (Map.Entry<String, Snapshot> entry : snapshots.entrySet()) {
+            metric(sb, "toolkit_in_flight", entry.getKey(), null, entry.getValue().inFlight);
+        }
+        sb.append("# HELP toolkit_latency_seconds Tool call latency.\n# TYPE toolkit_latency_seconds summary\n");
+        for (Map.Entry<String, Snapshot> entry : snapshots.entrySet()) {
+            LatencyHistogram.Snapshot l = entry.getValue().latency;
+            metric(sb, "toolkit_latency_seconds", entry.getKey(), "0.5", l.percentile(0.5) / 1e9);
+            metric(sb, "toolkit_latency_seconds", entry.getKey(), "0.99", l.percentile(0.99) / 1e9);
+            metric(sb, "toolkit_latency_seconds", entry.getKey(), "0.999", l.percentile(0.999) / 1e9);
+            metric(sb, "toolkit_latency_seconds_sum", entry.getKey(), null, l.sum() / 1e9);
+            metric(sb, "toolkit_latency_seconds_count", entry.getKey(), null, l.count());
+        }
+        if (cache != null) {
+            sb.append("# HELP toolkit_cache_hits_total Result cache hits.\n# TYPE toolkit_cache_hits_total counter\n")
+                    .append("toolkit_cache_hits_total ").append(cache.hits).append('\n')
+                    .append("# HELP toolkit_cache_misses_total Result cache misses.\n")
+                    .append("# TYPE toolkit_cache_misses_total counter\n")
+                    .append("toolkit_cache_misses_total ").append(cache.misses).append('\n')
+                    .append("# HELP toolkit_cache_evictions_total Result cache evictions.\n")
+                    .append("# TYPE toolkit_cache_evictions_total counter\n")
+                    .append("toolkit_cache_evictions_total ").append(cache.evictions).append('\n')
+                    .append("# HELP toolkit_cache_bytes Estimated result cache size.\n# TYPE toolkit_cache_bytes gauge\n")
+                    .append("toolkit_cache_bytes ").append(cache.bytes).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void metric(StringBuilder sb, String name, String command, String quantile, double value) {
+        sb.append(name).append("{command=\"");
+        escapeLabel(sb, command);
+        sb.append('"');
+        if (quantile != null) {
+            sb.append(",quantile=\"").append(quantile).append('"');
+        }
+        sb.append("} ");
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            sb.append((long) value);
+        } else {
+            sb.append(value);
+        }
+        sb.append('\n');
+    }
+
+    private static void escapeLabel(StringBuilder sb, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                sb.append('\\').append(c);
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+}
@@ -2,17 +2,168 @@ package org.example.core;
 
 import org.example.annotation.Tool;
 import org.example.annotation.ToolMethod;
+import org.example.annotation.processor.ToolIndexProcessor;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 工具注册中心
+ * 读路径（执行、查询）无锁；注册与初始化串行执行，已扫描的包和SPI不会重复加载。
+ * 工具实例会被多个线程共享，工具类需保证无状态，有状态工具请使用perCallInstance。
+ * 标记为pure的工具按参数缓存结果，缓存容量由系统属性toolkit.cache.bytes指定（字节，默认16MB，0表示关闭）；
+ * 执行开销低于一次缓存命中代价的工具不使用缓存，开销按调用采样统计。
+ * 每个命令记录调用数、错误数、执行中数量和延迟直方图（见ToolMetrics），热路径不加锁。
+ * executeToolAsync在后台线程执行，支持超时与取消，供界面等不能阻塞的调用方使用。
+ * 注册监听器可以在后台初始化的同时逐个得到新注册的工具，添加时先回放已注册的工具。
  * Created on 2025/07/01
  */
 public class ToolRegistry {
-    private static final Map<String, ToolExecutor> toolMap = new HashMap<>();
-    private static final Map<String, ToolInfo> toolInfoMap = new HashMap<>();
+    private static final ConcurrentMap<String, RegisteredTool> toolMap = new ConcurrentHashMap<>();
+
+    /**
+     * 注册与初始化使用的锁，读路径不加锁
+     */
+    private static final Object registrationLock = new Object();
+
+    /**
+     * 命令列表的不可变快照（按注册顺序），每次注册后整体替换
+     */
+    private static volatile Set<String> commandSnapshot = Collections.emptySet();
+
+    /**
+     * 注册监听器，在listenerLock内添加和通知，回放与后续通知之间不会遗漏或重复；
+     * initialize在扫描期间一直持有registrationLock，listenerLock只在单个工具注册时短暂持有，
+     * 扫描进行中添加监听器不必等待扫描结束
+     */
+    private static final List<RegistrationListener> registrationListeners = new CopyOnWriteArrayList<>();
+    private static final Object listenerLock = new Object();
+
+    private static final long DEFAULT_CACHE_BYTES = 16L << 20;
+
+    /**
+     * 执行开销低于该值的调用不使用缓存：一次命中需要生成键并查询哈希表，
+     * 键多时还伴随多次CPU缓存未命中，代价约为几百纳秒，缓存更便宜的工具反而更慢
+     */
+    private static final long MIN_CACHED_COST_NANOS = 1_000;
+
+    /**
+     * 不使用缓存的纯函数工具每隔多少次调用采样一次开销（2的幂）
+     */
+    private static final int COST_SAMPLE_INTERVAL = 64;
+
+    /**
+     * 工具抛出异常时返回的前缀；工具自己报告错误时约定以TOOL_ERROR开头，两者都计入错误数
+     */
+    private static final String EXECUTION_ERROR = "执行错误: ";
+    private static final String TOOL_ERROR = "错误";
+
+    /**
+     * 纯函数工具的结果缓存
+     */
+    private static final ResultCache resultCache = new ResultCache(
+            Math.max(0, Long.getLong("toolkit.cache.bytes", DEFAULT_CACHE_BYTES)));
+
+    // 以下字段由registrationLock保护
+    private static final Set<String> initializedPackages = new HashSet<>();
+    private static boolean spiLoaded;
+
+    /**
+     * 已注册工具（执行器与信息成对发布，避免读到不一致的状态）
+     */
+    private static final class RegisteredTool {
+        final ToolExecutor executor;
+        final ToolInfo info;
+        final boolean pure;
+        final String[] uncachedParameters;
+        final String[] cacheRequires;
+        final ToolMetrics metrics = new ToolMetrics();
+
+        /**
+         * 执行开销的指数移动平均，初始值使缓存先启用；多线程下的更新竞争只会丢失个别样本
+         */
+        private volatile long averageCostNanos = MIN_CACHED_COST_NANOS;
+        private int calls;
+
+        RegisteredTool(ToolExecutor executor, ToolInfo info, Tool annotation) {
+            this.executor = executor;
+            this.info = info;
+            this.pure = annotation.pure();
+            this.uncachedParameters = annotation.uncachedParameters().clone();
+            this.cacheRequires = annotation.cacheRequires().clone();
+        }
+
+        /**
+         * 执行开销是否值得缓存
+         */
+        boolean worthCaching() {
+            return averageCostNanos >= MIN_CACHED_COST_NANOS;
+        }
+
+        /**
+         * 是否为本次调用计时（不查缓存直接执行）
+         */
+        boolean sampleCost() {
+            return (++calls & (COST_SAMPLE_INTERVAL - 1)) == 0;
+        }
+
+        void recordCost(long nanos) {
+            long average = averageCostNanos;
+            averageCostNanos = average + ((nanos - average) >> 3);
+        }
+
+        /**
+         * 本次调用的结果是否可以缓存
+         */
+        boolean cacheable(Map<String, String> parameters) {
+            if (!pure || parameters == null) {
+                return false;
+            }
+            for (String name : uncachedParameters) {
+                if (present(parameters, name)) {
+                    return false;
+                }
+            }
+            if (cacheRequires.length == 0) {
+                return true;
+            }
+            for (String name : cacheRequires) {
+                if (present(parameters, name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean present(Map<String, String> parameters, String name) {
+            String value = parameters.get(name);
+            return value != null && !value.isEmpty();
+        }
+    }
 
     /**
      * 工具信息类
@@ -38,24 +189,45 @@ public class ToolRegistry {
     }
 
     /**
-     * 初始化工具注册
+     * 工具注册监听器
+     */
+    @FunctionalInterface
+    public interface RegistrationListener {
+        /**
+         * 工具注册后在注册线程上调用（覆盖已有命令时也会调用），应尽快返回
+         */
+        void toolRegistered(String command, ToolInfo info);
+    }
+
+    /**
+     * 初始化工具注册（可重复调用，已扫描过的包会被跳过）
      * @param basePackages 要扫描的包
      */
     public static void initialize(String... basePackages) {
-        // 加载SPI扩展（可选）
-        loadSpiTools();
+        synchronized (registrationLock) {
+            // 加载SPI扩展（可选）
+            if (!spiLoaded) {
+                spiLoaded = true;
+                loadSpiTools();
+            }
 
-        // 扫描注解工具
-        for (String pkg : basePackages) {
-            scanPackage(pkg);
+            // 扫描注解工具
+            for (String pkg : basePackages) {
+                if (initializedPackages.add(pkg)) {
+                    scanPackage(pkg);
+                }
+            }
         }
     }
 
     /**
-     * 扫描包并注册工具
+     * 扫描包并注册工具（优先使用编译期生成的索引，没有索引时才扫描类路径）
      */
     private static void scanPackage(String packageName) {
-        List<Class<?>> classes = ClasspathScanner.getClassesForPackage(packageName);
+        List<Class<?>> classes = loadIndexedClasses(packageName);
+        if (classes == null) {
+            classes = ClasspathScanner.getClassesForPackage(packageName);
+        }
         for (Class<?> clazz : classes) {
             if (clazz.isAnnotationPresent(Tool.class)) {
                 registerAnnotatedClass(clazz);
@@ -63,6 +235,46 @@ public class ToolRegistry {
         }
     }
 
+    /**
+     * 从工具索引加载指定包下的工具类
+     * @param packageName 包名
+     * @return 工具类列表，类路径上没有索引文件时返回null
+     */
+    private static List<Class<?>> loadIndexedClasses(String packageName) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        String prefix = packageName + ".";
+        List<Class<?>> classes = new ArrayList<>();
+        boolean indexFound = false;
+
+        try {
+            Enumeration<URL> indexes = classLoader.getResources(ToolIndexProcessor.INDEX_RESOURCE);
+            while (indexes.hasMoreElements()) {
+                indexFound = true;
+                URL index = indexes.nextElement();
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String className = line.trim();
+                        if (className.isEmpty() || className.startsWith("#") || !className.startsWith(prefix)) {
+                            continue;
+                        }
+                        try {
+                            classes.add(Class.forName(className, true, classLoader));
+                        } catch (ClassNotFoundException | NoClassDefFoundError e) {
+                            System.err.println("警告: 索引中的工具类无法加载: " + className);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("警告: 读取工具索引失败, 改为扫描类路径: " + e.getMessage());
+            return null;
+        }
+
+        return indexFound ? classes : null;
+    }
+
     /**
      * 注册带有@Tool注解的类
      */
@@ -78,11 +290,14 @@ public class ToolRegistry {
         }
 
         // 创建工具执行器
-        ToolExecutor executor = createToolExecutor(clazz, executeMethod);
+        ToolExecutor executor = createToolExecutor(clazz, executeMethod, toolAnnotation.perCallInstance());
+        if (executor == null) {
+            return;
+        }
 
         // 注册工具
         registerTool(command, executor, toolAnnotation);
-        System.out.println("注册工具: " + toolAnnotation.name() + " (" + command + ")");
+        System.err.println("注册工具: " + toolAnnotation.name() + " (" + command + ")");
     }
 
     /**
@@ -113,74 +328,327 @@ public class ToolRegistry {
     }
 
     /**
-     * 创建工具执行器
+     * 创建工具执行器（注册时一次性生成，调用时不再走反射）
+     * @return 执行器，无法访问工具方法时返回null
      */
-    private static ToolExecutor createToolExecutor(Class<?> clazz, Method method) {
-        // 如果方法是静态的，不需要实例化
-        if (java.lang.reflect.Modifier.isStatic(method.getModifiers())) {
-            return parameters -> {
+    private static ToolExecutor createToolExecutor(Class<?> clazz, Method method, boolean perCallInstance) {
+        try {
+            MethodHandle handle = unreflect(method);
+
+            // 如果方法是静态的，不需要实例化
+            if (Modifier.isStatic(method.getModifiers())) {
+                ToolExecutor direct = createLambdaExecutor(method, handle, null);
+                return direct != null ? direct : createHandleExecutor(handle);
+            }
+
+            // 无状态工具复用同一个实例
+            if (!perCallInstance) {
+                Object instance;
                 try {
-                    return (String) method.invoke(null, parameters);
-                } catch (Exception e) {
-                    throw new ToolExecutionException("静态方法调用失败", e);
+                    instance = newInstance(clazz);
+                } catch (ReflectiveOperationException e) {
+                    System.err.println("警告: 无法创建 " + clazz.getName() + " 的实例, 改为每次调用时创建: " + e);
+                    return createPerCallExecutor(clazz, handle);
                 }
-            };
+                ToolExecutor direct = createLambdaExecutor(method, handle, instance);
+                return direct != null ? direct : createHandleExecutor(handle.bindTo(instance));
+            }
+
+            // 有状态工具每次调用创建新实例
+            return createPerCallExecutor(clazz, handle);
+        } catch (ReflectiveOperationException e) {
+            System.err.println("警告: 无法为 " + method + " 创建执行器: " + e);
+            return null;
+        }
+    }
+
+    /**
+     * 通过LambdaMetafactory生成直接调用工具方法的ToolExecutor
+     * @param instance 实例方法的接收者，静态方法传null
+     * @return 执行器，方法签名或类可见性不满足时返回null
+     */
+    private static ToolExecutor createLambdaExecutor(Method method, MethodHandle handle, Object instance) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (method.getReturnType() != String.class
+                || method.getParameterTypes()[0] != Map.class
+                || !Modifier.isPublic(declaringClass.getModifiers())
+                || !isVisibleFromRegistry(declaringClass)) {
+            return null;
         }
 
-        // 实例方法需要创建对象
+        MethodType samType = MethodType.methodType(String.class, Map.class);
+        MethodType invokedType = instance == null
+                ? MethodType.methodType(ToolExecutor.class)
+                : MethodType.methodType(ToolExecutor.class, declaringClass);
+        try {
+            CallSite site = LambdaMetafactory.metafactory(MethodHandles.lookup(), "execute",
+                    invokedType, samType, handle, samType);
+            return instance == null
+                    ? (ToolExecutor) site.getTarget().invoke()
+                    : (ToolExecutor) site.getTarget().invoke(instance);
+        } catch (Throwable e) {
+            // 生成失败时退回MethodHandle调用
+            return null;
+        }
+    }
+
+    /**
+     * 每次调用时创建实例的执行器（构造器与工具方法合并为一个MethodHandle）
+     */
+    private static ToolExecutor createPerCallExecutor(Class<?> clazz, MethodHandle handle)
+            throws ReflectiveOperationException {
+        Constructor<?> constructor = clazz.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        MethodHandle constructorHandle = MethodHandles.lookup().unreflectConstructor(constructor);
+        return createHandleExecutor(MethodHandles.collectArguments(handle, 0, constructorHandle));
+    }
+
+    /**
+     * 基于MethodHandle的执行器
+     * @param handle 签名为(Map)返回值的方法句柄
+     */
+    private static ToolExecutor createHandleExecutor(MethodHandle handle) {
+        MethodHandle invoker = handle.asType(MethodType.methodType(Object.class, Map.class));
         return parameters -> {
             try {
-                Object instance = clazz.getDeclaredConstructor().newInstance();
-                return (String) method.invoke(instance, parameters);
-            } catch (Exception e) {
+                return (String) invoker.invokeExact(parameters);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
                 throw new ToolExecutionException("方法调用失败", e);
             }
         };
     }
 
+    private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+        if (!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            method.setAccessible(true);
+        }
+        return MethodHandles.lookup().unreflect(method);
+    }
+
+    private static Object newInstance(Class<?> clazz) throws ReflectiveOperationException {
+        Constructor<?> constructor = clazz.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return constructor.newInstance();
+    }
+
+    /**
+     * 生成的Lambda类与注册中心处于同一类加载器，只能链接到注册中心可见的类
+     */
+    private static boolean isVisibleFromRegistry(Class<?> clazz) {
+        try {
+            return Class.forName(clazz.getName(), false, ToolRegistry.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
     /**
      * 注册工具
      */
     public static void registerTool(String command, ToolExecutor executor, Tool annotation) {
-        if (toolMap.containsKey(command)) {
-            System.err.println("警告: 重复的工具命令 '" + command + "', 将覆盖已有工具");
-        }
-        toolMap.put(command, executor);
-        toolInfoMap.put(command, new ToolInfo(
+        ToolInfo info = new ToolInfo(
                 annotation.name(),
                 annotation.description(),
-                annotation.parameters()
-        ));
+                annotation.parameters().clone()
+        );
+        synchronized (registrationLock) {
+            synchronized (listenerLock) {
+                if (toolMap.put(command, new RegisteredTool(executor, info, annotation)) != null) {
+                    System.err.println("警告: 重复的工具命令 '" + command + "', 将覆盖已有工具");
+                    // 旧工具的结果不再有效
+                    resultCache.clear();
+                } else {
+                    Set<String> commands = new LinkedHashSet<>(commandSnapshot);
+                    commands.add(command);
+                    commandSnapshot = Collections.unmodifiableSet(commands);
+                }
+                for (RegistrationListener listener : registrationListeners) {
+                    listener.toolRegistered(command, info);
+                }
+            }
+        }
+    }
+
+    /**
+     * 添加注册监听器：先在调用线程上按注册顺序回放已注册的工具，之后每注册一个工具通知一次
+     */
+    public static void addRegistrationListener(RegistrationListener listener) {
+        synchronized (listenerLock) {
+            for (String command : commandSnapshot) {
+                listener.toolRegistered(command, toolMap.get(command).info);
+            }
+            registrationListeners.add(listener);
+        }
+    }
+
+    public static void removeRegistrationListener(RegistrationListener listener) {
+        registrationListeners.remove(listener);
     }
 
     /**
      * 执行工具
      */
     public static String executeTool(String command, Map<String, String> parameters) {
-        ToolExecutor executor = toolMap.get(command);
-        if (executor == null) {
+        RegisteredTool tool = toolMap.get(command);
+        if (tool == null) {
             return "未找到命令: " + command;
         }
 
+        long start = tool.metrics.start();
+        String result = null;
+        try {
+            result = executeCached(command, tool, parameters);
+            return result;
+        } finally {
+            tool.metrics.finish(start, result == null || result.startsWith(EXECUTION_ERROR)
+                    || result.startsWith(TOOL_ERROR));
+        }
+    }
+
+    /**
+     * 异步执行工具，不限时间
+     * @see #executeToolAsync(String, Map, long, TimeUnit)
+     */
+    public static CompletableFuture<String> executeToolAsync(String command, Map<String, String> parameters) {
+        return executeToolAsync(command, parameters, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 在后台线程池中执行工具
+     * 超时以TimeoutException异常完成；超时或cancel时中断执行线程，响应中断的工具（如文件批处理）会提前结束，
+     * 不响应中断的工具（如RSA密钥生成）在后台执行完毕后结果被丢弃
+     * @param parameters 参数，提交时复制一份，之后调用方修改不影响执行；null视为没有参数
+     * @param timeout 超时时间，0或负数表示不限
+     * @return 正常完成时为执行结果，与executeTool相同
+     */
+    public static CompletableFuture<String> executeToolAsync(String command, Map<String, String> parameters,
+                                                             long timeout, TimeUnit unit) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Map<String, String> params = parameters == null ? new HashMap<>() : new HashMap<>(parameters);
+        Future<?> task = AsyncExecutors.POOL.submit(() -> {
+            // 排队期间已被取消或超时
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(executeTool(command, params));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        ScheduledFuture<?> timer = timeout > 0
+                ? AsyncExecutors.TIMER.schedule(() -> future.completeExceptionally(
+                        new TimeoutException("执行超时: " + command)), timeout, unit)
+                : null;
+        future.whenComplete((result, error) -> {
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            if (error != null) {
+                task.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 纯函数工具先查结果缓存
+     */
+    private static String executeCached(String command, RegisteredTool tool, Map<String, String> parameters) {
+        if (!tool.cacheable(parameters) || !resultCache.admits(command, parameters)) {
+            return execute(tool, parameters);
+        }
+
+        // 采样的调用跳过缓存重新计时，命中率高时开销估计也能随JIT预热等变化更新
+        boolean sampled = tool.sampleCost();
+        String cacheKey = null;
+        if (tool.worthCaching()) {
+            cacheKey = ResultCache.key(command, parameters);
+            String cached = sampled ? null : resultCache.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        } else if (!sampled) {
+            return execute(tool, parameters);
+        }
+
+        long start = System.nanoTime();
+        String result;
         try {
-            return executor.execute(parameters);
+            result = tool.executor.execute(parameters);
         } catch (Exception e) {
-            return "执行错误: " + e.getMessage();
+            return EXECUTION_ERROR + e.getMessage();
         }
+        long cost = System.nanoTime() - start;
+        tool.recordCost(cost);
+        if (cacheKey != null && result != null && cost >= MIN_CACHED_COST_NANOS) {
+            resultCache.put(cacheKey, result);
+        }
+        return result;
+    }
+
+    private static String execute(RegisteredTool tool, Map<String, String> parameters) {
+        try {
+            return tool.executor.execute(parameters);
+        } catch (Exception e) {
+            return EXECUTION_ERROR + e.getMessage();
+        }
+    }
+
+    /**
+     * 各命令运行指标的快照（按注册顺序）
+     */
+    public static Map<String, ToolMetrics.Snapshot> getMetrics() {
+        Map<String, ToolMetrics.Snapshot> snapshots = new LinkedHashMap<>();
+        for (String command : commandSnapshot) {
+            RegisteredTool tool = toolMap.get(command);
+            if (tool != null) {
+                snapshots.put(command, tool.metrics.snapshot());
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * 清零所有命令的调用数、错误数和延迟直方图，以及结果缓存的命中计数（如预热之后）
+     */
+    public static void resetMetrics() {
+        for (RegisteredTool tool : toolMap.values()) {
+            tool.metrics.reset();
+        }
+        resultCache.resetStats();
+    }
+
+    /**
+     * 结果缓存的统计
+     */
+    public static ResultCache.Stats getCacheStats() {
+        return resultCache.stats();
+    }
+
+    /**
+     * 清空结果缓存
+     */
+    public static void clearCache() {
+        resultCache.clear();
     }
 
     /**
      * 获取所有工具命令
+     * @return 不可变快照，不会随后续注册变化
      */
     public static Set<String> getAllToolCommands() {
-        return toolMap.keySet();
+        return commandSnapshot;
     }
 
     /**
      * 获取工具信息
      */
     public static ToolInfo getToolInfo(String command) {
-        return toolInfoMap.get(command);
+        RegisteredTool tool = toolMap.get(command);
+        return tool == null ? null : tool.info;
     }
 
     /**
@@ -214,13 +682,56 @@ public class ToolRegistry {
                             return provider.getParameters();
                         }
 
+                        @Override
+                        public boolean perCallInstance() {
+                            return false;
+                        }
+
+                        @Override
+                        public boolean pure() {
+                            return provider.isPure();
+                        }
+
+                        @Override
+                        public String[] uncachedParameters() {
+                            return new String[0];
+                        }
+
+                        @Override
+                        public String[] cacheRequires() {
+                            return new String[0];
+                        }
+
                         @Override
                         public Class<? extends java.lang.annotation.Annotation> annotationType() {
                             return Tool.class;
                         }
                     }
             );
-            System.out.println("加载SPI工具: " + provider.getName());
+            System.err.println("加载SPI工具: " + provider.getName());
+        }
+    }
+
+    /**
+     * 异步执行使用的线程，首次调用executeToolAsync时才创建
+     */
+    private static final class AsyncExecutors {
+        private static final AtomicInteger threadId = new AtomicInteger();
+
+        /**
+         * 不限线程数：已取消但不响应中断的调用仍占着线程，固定大小的池会让后续调用排在它后面；
+         * 空闲线程一分钟后回收
+         */
+        static final ExecutorService POOL = Executors.newCachedThreadPool(
+                runnable -> daemon(runnable, "tool-async-" + threadId.incrementAndGet()));
+
+        static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(
+                runnable -> daemon(runnable, "tool-async-timer"));
+
+        private static Thread daemon(Runnable runnable, String name) {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
         }
     }
 
@@ -242,5 +753,12 @@ public class ToolRegistry {
         String getDescription();
         String[] getParameters();
         String execute(Map<String, String> parameters) throws Exception;
+
+        /**
+         * 是否为纯函数（相同参数总是返回相同结果），是则结果会被缓存
+         */
+        default boolean isPure() {
+            return false;
+        }
     }
 }
\ No newline at end of file
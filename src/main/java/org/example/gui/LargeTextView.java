@@ -0,0 +1,162 @@
+package org.example.gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.datatransfer.StringSelection;
+import java.awt.datatransfer.Transferable;
+import java.util.Arrays;
+
+/**
+ * 大段输出的查看器 - 按行建立偏移索引，过长的行按固定字符数分段，用JList只渲染可见的几十行，
+ * 几MB的结果也能立即打开；选中行后Ctrl+C复制对应的原文
+ * Created on 2025/10/17
+ */
+class LargeTextView extends JPanel {
+
+    /**
+     * 每段最多的字符数，Base64等没有换行的结果按此分成多行显示
+     */
+    static final int MAX_SEGMENT_CHARS = 500;
+
+    private final LineListModel model = new LineListModel();
+    private final JList<String> list = new JList<>(model);
+    private final JLabel summaryLabel = new JLabel();
+    private final int cellWidthPerChar;
+
+    LargeTextView(Font latinFont, Font cjkFont, Font labelFont) {
+        super(new BorderLayout());
+
+        FontMetrics latinMetrics = getFontMetrics(latinFont);
+        FontMetrics cjkMetrics = getFontMetrics(cjkFont);
+        // 固定行高和行宽，JList不必为计算尺寸渲染每一行
+        list.setFixedCellHeight(Math.max(latinMetrics.getHeight(), cjkMetrics.getHeight()) + 2);
+        cellWidthPerChar = Math.max(latinMetrics.charWidth('W'), cjkMetrics.charWidth('中'));
+        list.setSelectionMode(ListSelectionModel.SINGLE_INTERVAL_SELECTION);
+        list.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> jList, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                super.getListCellRendererComponent(jList, value, index, isSelected, cellHasFocus);
+                setFont(containsCJK((String) value) ? cjkFont : latinFont);
+                return this;
+            }
+        });
+        list.setTransferHandler(new TransferHandler() {
+            @Override
+            public int getSourceActions(JComponent component) {
+                return COPY;
+            }
+
+            @Override
+            protected Transferable createTransferable(JComponent component) {
+                int first = list.getMinSelectionIndex();
+                return first < 0 ? null : new StringSelection(model.text(first, list.getMaxSelectionIndex()));
+            }
+        });
+        add(new JScrollPane(list), BorderLayout.CENTER);
+
+        JButton copyAllButton = new JButton("复制全部");
+        copyAllButton.setFont(labelFont);
+        copyAllButton.addActionListener(e -> Toolkit.getDefaultToolkit().getSystemClipboard()
+                .setContents(new StringSelection(model.text), null));
+        summaryLabel.setFont(labelFont);
+        JPanel header = new JPanel(new BorderLayout());
+        header.add(summaryLabel, BorderLayout.CENTER);
+        header.add(copyAllButton, BorderLayout.EAST);
+        add(header, BorderLayout.NORTH);
+    }
+
+    void setText(String text) {
+        model.setText(text);
+        list.clearSelection();
+        list.setFixedCellWidth(Math.max(1, model.maxSegmentLength) * cellWidthPerChar + 8);
+        list.ensureIndexIsVisible(0);
+        summaryLabel.setText(String.format("输出较大（%d 字符，%d 行），只渲染可见的行；选中后Ctrl+C复制",
+                text.length(), model.getSize()));
+    }
+
+    void clear() {
+        setText("");
+    }
+
+    private static boolean containsCJK(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (ToolGUI.isCJKCharacter(line.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 以原文和每段的起止偏移作为列表数据，取元素时才截取子串
+     */
+    private static final class LineListModel extends AbstractListModel<String> {
+        private String text = "";
+        private int[] starts = new int[0];
+        private int[] ends = new int[0];
+        private int size;
+        private int maxSegmentLength;
+
+        void setText(String newText) {
+            int oldSize = size;
+            text = newText;
+            starts = new int[64];
+            ends = new int[64];
+            size = 0;
+            maxSegmentLength = 0;
+
+            int length = newText.length();
+            int position = 0;
+            while (position < length) {
+                int newline = newText.indexOf('\n', position);
+                int lineEnd = newline < 0 ? length : newline;
+                do {
+                    int segmentEnd = Math.min(lineEnd, position + MAX_SEGMENT_CHARS);
+                    // 不把代理对拆到两段
+                    if (segmentEnd < lineEnd && Character.isHighSurrogate(newText.charAt(segmentEnd - 1))) {
+                        segmentEnd--;
+                    }
+                    add(position, segmentEnd);
+                    position = segmentEnd;
+                } while (position < lineEnd);
+                position = lineEnd + 1;
+            }
+
+            if (oldSize > 0) {
+                fireIntervalRemoved(this, 0, oldSize - 1);
+            }
+            if (size > 0) {
+                fireIntervalAdded(this, 0, size - 1);
+            }
+        }
+
+        private void add(int start, int end) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+            maxSegmentLength = Math.max(maxSegmentLength, end - start);
+        }
+
+        /**
+         * 第first到last段对应的原文，包括段之间的换行
+         */
+        String text(int first, int last) {
+            return text.substring(starts[first], ends[last]);
+        }
+
+        @Override
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public String getElementAt(int index) {
+            return text.substring(starts[index], ends[index]);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.gui;
+
+import org.example.core.LatencyHistogram;
+import org.example.core.ToolMetrics;
+import org.example.core.ToolRegistry;
+import org.example.tools.StatsTool;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 运行统计面板 - 每秒刷新各命令的调用数、错误数、执行中数量和延迟分位数，面板不可见时不刷新
+ * Created on 2025/10/17
+ */
+public class StatsPanel extends JPanel {
+
+    private static final int REFRESH_MILLIS = 1000;
+    private static final String[] COLUMNS = {"命令", "调用", "错误", "执行中", "平均", "p50", "p99", "p999", "最大"};
+    private static final int FIRST_LATENCY_COLUMN = 4;
+
+    private final MetricsTableModel tableModel = new MetricsTableModel();
+    private final JLabel cacheLabel = new JLabel();
+    private final Timer timer;
+
+    public StatsPanel(Font font, Font boldFont) {
+        super(new BorderLayout());
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        JTable table = new JTable(tableModel);
+        table.setFont(font);
+        table.getTableHeader().setFont(boldFont);
+        table.setAutoCreateRowSorter(true);
+        // 延迟列保存纳秒数值以便正确排序，显示时再格式化
+        DefaultTableCellRenderer latencyRenderer = new DefaultTableCellRenderer() {
+            @Override
+            protected void setValue(Object value) {
+                setText(value == null ? "" : LatencyHistogram.Snapshot.format((Long) value));
+            }
+        };
+        latencyRenderer.setHorizontalAlignment(SwingConstants.RIGHT);
+        for (int column = FIRST_LATENCY_COLUMN; column < COLUMNS.length; column++) {
+            table.getColumnModel().getColumn(column).setCellRenderer(latencyRenderer);
+        }
+        JScrollPane tableScrollPane = new JScrollPane(table);
+        tableScrollPane.setBorder(BorderFactory.createTitledBorder("各命令运行指标"));
+        add(tableScrollPane, BorderLayout.CENTER);
+
+        JButton resetButton = new JButton("清零");
+        resetButton.setFont(boldFont);
+        resetButton.addActionListener(e -> {
+            ToolRegistry.resetMetrics();
+            refresh();
+        });
+        JButton exportButton = new JButton("导出Prometheus...");
+        exportButton.setFont(boldFont);
+        exportButton.addActionListener(e -> exportPrometheus());
+
+        cacheLabel.setFont(font);
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        bottomPanel.add(cacheLabel, BorderLayout.CENTER);
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttonPanel.add(resetButton);
+        buttonPanel.add(exportButton);
+        bottomPanel.add(buttonPanel, BorderLayout.EAST);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        timer = new Timer(REFRESH_MILLIS, e -> {
+            if (isShowing()) {
+                refresh();
+            }
+        });
+    }
+
+    /**
+     * 加入窗口时开始定时刷新，窗口dispose或面板移除时停止，Timer不再持有面板
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        timer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        timer.stop();
+        super.removeNotify();
+    }
+
+    /**
+     * 读取指标快照并更新表格
+     */
+    public void refresh() {
+        tableModel.update(ToolRegistry.getMetrics());
+        cacheLabel.setText("结果缓存: " + ToolRegistry.getCacheStats());
+    }
+
+    private void exportPrometheus() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("toolkit.prom"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        try {
+            StatsTool.writeAtomically(file.toPath(),
+                    ToolMetrics.formatPrometheus(ToolRegistry.getMetrics(), ToolRegistry.getCacheStats()));
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "导出失败: " + ex.getMessage(), "错误", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private static final class MetricsTableModel extends AbstractTableModel {
+        private final List<String> commands = new ArrayList<>();
+        private final List<ToolMetrics.Snapshot> snapshots = new ArrayList<>();
+
+        void update(Map<String, ToolMetrics.Snapshot> metrics) {
+            boolean sameRows = commands.equals(new ArrayList<>(metrics.keySet()));
+            commands.clear();
+            snapshots.clear();
+            for (Map.Entry<String, ToolMetrics.Snapshot> entry : metrics.entrySet()) {
+                commands.add(entry.getKey());
+                snapshots.add(entry.getValue());
+            }
+            // 行不变时只通知数据变化，保留排序和选中状态
+            if (sameRows && !commands.isEmpty()) {
+                fireTableRowsUpdated(0, commands.size() - 1);
+            } else {
+                fireTableDataChanged();
+            }
+        }
+
+        @Override
+        public int getRowCount() {
+            return commands.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return column == 0 ? String.class : Long.class;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            ToolMetrics.Snapshot s = snapshots.get(row);
+            LatencyHistogram.Snapshot latency = s.latency;
+            switch (column) {
+                case 0:
+                    return commands.get(row);
+                case 1:
+                    return s.calls;
+                case 2:
+                    return s.errors;
+                case 3:
+                    return s.inFlight;
+                case 4:
+                    return (long) latency.mean();
+                case 5:
+                    return latency.percentile(0.5);
+                case 6:
+                    return latency.percentile(0.99);
+                case 7:
+                    return latency.percentile(0.999);
+                default:
+                    return latency.max();
+            }
+        }
+    }
+}
@@ -4,15 +4,21 @@ import org.example.core.ToolRegistry;
 import org.example.core.ToolRegistry.ToolInfo;
 
 import javax.swing.*;
+import javax.swing.border.TitledBorder;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.Style;
 import javax.swing.text.StyleConstants;
 import javax.swing.text.StyledDocument;
 import java.awt.*;
 import java.awt.event.ActionEvent;
+import java.lang.management.ManagementFactory;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * 工具包图形界面
@@ -20,13 +26,46 @@ import java.util.Set;
  */
 public class ToolGUI extends JFrame {
 
+    /**
+     * 超过该字符数的结果交给LargeTextView，只渲染可见的行
+     */
+    private static final int LARGE_OUTPUT_CHARS = 100_000;
+    private static final String TEXT_VIEW = "text";
+    private static final String LARGE_VIEW = "large";
+    private static final String TOOL_PACKAGE = "org.example.tools";
+    private static final String TOOL_LIST_TITLE = "工具列表";
+
+    /**
+     * 为true时在标准错误输出首次绘制和工具加载完成的时间（JVM启动后的毫秒数）
+     */
+    private static final boolean STARTUP_TIMING = Boolean.getBoolean("toolkit.gui.timing");
+
+    // 后台工具扫描，进程内只启动一次
+    private static CompletableFuture<Void> discovery;
+
     private final JList<String> toolList;
     private final DefaultListModel<String> listModel;
     private final JTextPane resultPane;
+    private final LargeTextView largeTextView;
+    private final CardLayout resultCards = new CardLayout();
+    private final JPanel resultPanel;
     private final Map<String, JTextField> inputFields = new HashMap<>();
     private final JPanel inputPanel;
     private final Map<String, String> commandMap = new HashMap<>();
+    private final Map<String, String> displayNames = new HashMap<>();
+    // 窗口关闭时移除，注册表不再持有窗口
+    private final ToolRegistry.RegistrationListener registrationListener = this::onToolRegistered;
+    private final TitledBorder toolListBorder = BorderFactory.createTitledBorder(TOOL_LIST_TITLE + "（加载中...）");
+    private final JScrollPane listScrollPane;
+    private boolean firstPaintReported;
     private final JSplitPane rightSplitPane;
+    private final JButton executeButton;
+    private final JButton cancelButton;
+    private final JProgressBar progressBar;
+    private final JSpinner timeoutSpinner;
+
+    // 正在执行的调用，只在EDT上读写
+    private CompletableFuture<String> runningTask;
 
     // 字体定义（带回退机制）
     private final Font yaheiFont;
@@ -44,14 +83,11 @@ public class ToolGUI extends JFrame {
         setSize(900, 700);
         setLocationRelativeTo(null);
 
-        // 初始化字体（带回退机制）
+        // 初始化字体（带回退机制），粗体和小号字由同一字体派生，不重复查找
         yaheiFont = getFontWithFallback("微软雅黑", "Microsoft YaHei", "SimSun", "宋体", Font.PLAIN, 12);
         consolasFont = getFontWithFallback("Consolas", "Monaco", "Courier New", "Monospaced", Font.PLAIN, 12);
-        yaheiBoldFont = getFontWithFallback("微软雅黑", "Microsoft YaHei", "SimSun", "宋体", Font.BOLD, 12);
-        yaheiSmallFont = getFontWithFallback("微软雅黑", "Microsoft YaHei", "SimSun", "宋体", Font.PLAIN, 10);
-
-        // 初始化工具注册
-        ToolRegistry.initialize("org.example.tools");
+        yaheiBoldFont = yaheiFont.deriveFont(Font.BOLD);
+        yaheiSmallFont = yaheiFont.deriveFont(10f);
 
         // 创建主布局 - 左右分割
         JSplitPane mainSplitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT);
@@ -71,8 +107,8 @@ public class ToolGUI extends JFrame {
             }
         });
 
-        JScrollPane listScrollPane = new JScrollPane(toolList);
-        listScrollPane.setBorder(BorderFactory.createTitledBorder("工具列表"));
+        listScrollPane = new JScrollPane(toolList);
+        listScrollPane.setBorder(toolListBorder);
         mainSplitPane.setLeftComponent(listScrollPane);
 
         // 右侧内容面板
@@ -90,18 +126,48 @@ public class ToolGUI extends JFrame {
         resultPane.setEditable(false);
         resultPane.setContentType("text/plain");
         JScrollPane resultScrollPane = new JScrollPane(resultPane);
-        resultScrollPane.setBorder(BorderFactory.createTitledBorder("执行结果"));
-        resultScrollPane.setPreferredSize(new Dimension(0, 300));
+
+        // 大段结果的查看器，与结果文本框共用结果区域
+        largeTextView = new LargeTextView(consolasFont, yaheiFont, yaheiSmallFont);
+        resultPanel = new JPanel(resultCards);
+        resultPanel.add(resultScrollPane, TEXT_VIEW);
+        resultPanel.add(largeTextView, LARGE_VIEW);
+        resultPanel.setBorder(BorderFactory.createTitledBorder("执行结果"));
+        resultPanel.setPreferredSize(new Dimension(0, 300));
 
         // 执行按钮
-        JButton executeButton = new JButton("执行工具");
+        executeButton = new JButton("执行工具");
         executeButton.setFont(yaheiBoldFont);
         executeButton.addActionListener(this::executeTool);
 
+        // 取消按钮，执行期间可用
+        cancelButton = new JButton("取消");
+        cancelButton.setFont(yaheiBoldFont);
+        cancelButton.setEnabled(false);
+        cancelButton.addActionListener(e -> cancelTool());
+
+        // 执行进度（工具不报告进度，只显示正在执行）
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setStringPainted(true);
+        progressBar.setString("执行中...");
+        progressBar.setFont(yaheiSmallFont);
+        progressBar.setVisible(false);
+
+        // 超时时间，0表示不限
+        timeoutSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 3600, 10));
+        timeoutSpinner.setFont(yaheiFont);
+        JLabel timeoutLabel = new JLabel("超时(秒,0为不限):");
+        timeoutLabel.setFont(yaheiFont);
+
         // 按钮面板
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         buttonPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        buttonPanel.add(progressBar);
+        buttonPanel.add(timeoutLabel);
+        buttonPanel.add(timeoutSpinner);
         buttonPanel.add(executeButton);
+        buttonPanel.add(cancelButton);
 
         // 参数区域容器
         JPanel paramContainer = new JPanel(new BorderLayout());
@@ -114,14 +180,27 @@ public class ToolGUI extends JFrame {
         paramContainer.add(buttonPanel, BorderLayout.SOUTH);
 
         rightSplitPane.setTopComponent(paramContainer);
-        rightSplitPane.setBottomComponent(resultScrollPane);
+        rightSplitPane.setBottomComponent(resultPanel);
 
         mainSplitPane.setRightComponent(rightSplitPane);
 
-        add(mainSplitPane, BorderLayout.CENTER);
+        // 工具页与运行统计页
+        JTabbedPane tabbedPane = new JTabbedPane();
+        tabbedPane.setFont(yaheiFont);
+        tabbedPane.addTab("工具", mainSplitPane);
+        StatsPanel statsPanel = new StatsPanel(yaheiFont, yaheiBoldFont);
+        tabbedPane.addTab("运行统计", statsPanel);
+        tabbedPane.addChangeListener(e -> {
+            if (tabbedPane.getSelectedComponent() == statsPanel) {
+                statsPanel.refresh();
+            }
+        });
+        add(tabbedPane, BorderLayout.CENTER);
 
-        // 初始化工具列表
-        initializeToolList();
+        // 已注册的工具立即列出，后台扫描到的工具逐个加入，窗口不等待扫描完成
+        ToolRegistry.addRegistrationListener(registrationListener);
+        startDiscovery().whenComplete((ignored, error) ->
+                SwingUtilities.invokeLater(() -> onDiscoveryFinished(error)));
 
         // 不自动显示窗口
         if (!autoShow) {
@@ -166,22 +245,91 @@ public class ToolGUI extends JFrame {
         return new Font(Font.SANS_SERIF, style, size);
     }
 
-    private void initializeToolList() {
-        Set<String> commands = ToolRegistry.getAllToolCommands();
-        for (String command : commands) {
-            ToolInfo info = ToolRegistry.getToolInfo(command);
-            if (info != null) {
-                String displayName = info.name + " (" + command + ")";
-                listModel.addElement(displayName);
-                commandMap.put(displayName, command);
+    /**
+     * 在后台线程扫描并注册工具，与界面创建并行进行
+     * @return 扫描完成时完成
+     */
+    private static synchronized CompletableFuture<Void> startDiscovery() {
+        if (discovery == null) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            Thread thread = new Thread(() -> {
+                try {
+                    ToolRegistry.initialize(TOOL_PACKAGE);
+                    future.complete(null);
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            }, "tool-discovery");
+            thread.setDaemon(true);
+            thread.start();
+            discovery = future;
+        }
+        return discovery;
+    }
+
+    @Override
+    public void dispose() {
+        ToolRegistry.removeRegistrationListener(registrationListener);
+        super.dispose();
+    }
+
+    /**
+     * 注册监听：回放和界面线程上的注册直接加入列表，其他线程上的注册转到界面线程
+     */
+    private void onToolRegistered(String command, ToolInfo info) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            addTool(command, info);
+        } else {
+            SwingUtilities.invokeLater(() -> addTool(command, info));
+        }
+    }
+
+    private void addTool(String command, ToolInfo info) {
+        String displayName = info.name + " (" + command + ")";
+        String oldName = displayNames.put(command, displayName);
+        if (oldName != null) {
+            // 覆盖已有命令，原位置替换
+            commandMap.remove(oldName);
+            commandMap.put(displayName, command);
+            int index = listModel.indexOf(oldName);
+            listModel.set(index, displayName);
+            if (toolList.getSelectedIndex() == index) {
+                onToolSelected();
             }
+            return;
         }
+        commandMap.put(displayName, command);
+        listModel.addElement(displayName);
 
-        if (!listModel.isEmpty()) {
+        // 第一个工具出现后立即选中，参数面板不必等待扫描完成
+        if (listModel.size() == 1) {
             toolList.setSelectedIndex(0);
         }
     }
 
+    private void onDiscoveryFinished(Throwable error) {
+        if (error != null) {
+            toolListBorder.setTitle(TOOL_LIST_TITLE + "（加载失败）");
+            error.printStackTrace();
+        } else {
+            toolListBorder.setTitle(TOOL_LIST_TITLE);
+        }
+        listScrollPane.repaint();
+        if (STARTUP_TIMING) {
+            System.err.println("工具加载完成: " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms, 共 "
+                    + listModel.size() + " 个工具");
+        }
+    }
+
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        if (STARTUP_TIMING && !firstPaintReported) {
+            firstPaintReported = true;
+            System.err.println("首次绘制: " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms");
+        }
+    }
+
     private void onToolSelected() {
         // 清除旧输入字段
         inputPanel.removeAll();
@@ -299,40 +447,84 @@ public class ToolGUI extends JFrame {
             params.put(entry.getKey(), entry.getValue().getText());
         }
 
-        // 执行工具
-        try {
-            // 不再显示"执行中..."提示，直接显示结果
-            String result = ToolRegistry.executeTool(command, params);
+        // 在后台线程执行，界面保持响应，完成后回到EDT显示结果
+        int timeoutSeconds = (Integer) timeoutSpinner.getValue();
+        CompletableFuture<String> future = ToolRegistry.executeToolAsync(command, params, timeoutSeconds, TimeUnit.SECONDS);
+        runningTask = future;
+        setRunning(true);
+        future.whenComplete((result, error) ->
+                SwingUtilities.invokeLater(() -> onToolFinished(future, result, error, timeoutSeconds)));
+    }
+
+    /**
+     * 取消正在执行的工具，执行线程会被中断
+     */
+    private void cancelTool() {
+        if (runningTask != null) {
+            runningTask.cancel(true);
+        }
+    }
+
+    /**
+     * 工具执行结束（在EDT上调用）
+     */
+    private void onToolFinished(CompletableFuture<String> future, String result, Throwable error, int timeoutSeconds) {
+        if (future != runningTask) {
+            return;
+        }
+        runningTask = null;
+        setRunning(false);
+
+        if (error == null) {
             appendToResultPane(result, Color.BLACK, null); // 使用智能字体选择
-        } catch (Exception ex) {
-            appendToResultPane("执行错误: " + ex.getMessage(), Color.RED, yaheiFont);
-            ex.printStackTrace();
+            return;
         }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CancellationException) {
+            appendToResultPane("已取消", Color.RED, yaheiFont);
+        } else if (cause instanceof TimeoutException) {
+            appendToResultPane("执行超时（" + timeoutSeconds + "秒），已取消", Color.RED, yaheiFont);
+        } else {
+            appendToResultPane("执行错误: " + cause.getMessage(), Color.RED, yaheiFont);
+            cause.printStackTrace();
+        }
+    }
+
+    /**
+     * 切换执行中/空闲状态下的控件
+     */
+    private void setRunning(boolean running) {
+        executeButton.setEnabled(!running);
+        cancelButton.setEnabled(running);
+        timeoutSpinner.setEnabled(!running);
+        progressBar.setVisible(running);
+        progressBar.getParent().revalidate();
     }
 
     /**
      * 向结果面板追加文本，支持中英文不同字体
      */
     private void appendToResultPane(String text, Color color, Font specificFont) {
+        // 大段结果不进文本框，交给只渲染可见行的查看器
+        if (text.length() > LARGE_OUTPUT_CHARS) {
+            largeTextView.setText(text);
+            resultCards.show(resultPanel, LARGE_VIEW);
+            return;
+        }
+
         StyledDocument doc = resultPane.getStyledDocument();
 
         try {
             // 移动到文档末尾
             int offset = doc.getLength();
-            doc.insertString(offset, text, null);
-
-            // 创建样式
-            Style style = resultPane.addStyle("CustomStyle", null);
-            StyleConstants.setForeground(style, color);
 
             // 如果指定了字体，直接使用
             if (specificFont != null) {
-                StyleConstants.setFontFamily(style, specificFont.getFamily());
-                StyleConstants.setFontSize(style, specificFont.getSize());
-                doc.setCharacterAttributes(offset, text.length(), style, false);
+                doc.insertString(offset, text, sharedStyle(specificFont, color));
             } else {
                 // 智能字体选择：中文字体用微软雅黑，英文字体用Consolas
-                applyMixedFont(doc, offset, text.length(), style);
+                doc.insertString(offset, text, sharedStyle(consolasFont, color));
+                applyMixedFont(doc, offset, text, color);
             }
 
             // 滚动到末尾
@@ -344,37 +536,44 @@ public class ToolGUI extends JFrame {
 
     /**
      * 应用混合字体：中文用微软雅黑，英文用Consolas
+     * 文本已按Consolas插入，只对每段连续的CJK字符设置一次样式
      */
-    private void applyMixedFont(StyledDocument doc, int offset, int length, Style baseStyle) {
-        String text;
-        try {
-            text = doc.getText(offset, length);
-        } catch (BadLocationException ex) {
-            return;
-        }
-
-        // 遍历每个字符，根据字符类型应用不同字体
-        for (int i = 0; i < length; i++) {
-            char c = text.charAt(i);
-            Style charStyle = resultPane.addStyle("CharStyle" + i, baseStyle);
-
-            // 判断字符类型：中文或其他CJK字符使用微软雅黑，其他使用Consolas
-            if (isCJKCharacter(c)) {
-                StyleConstants.setFontFamily(charStyle, yaheiFont.getFamily());
-                StyleConstants.setFontSize(charStyle, yaheiFont.getSize());
-            } else {
-                StyleConstants.setFontFamily(charStyle, consolasFont.getFamily());
-                StyleConstants.setFontSize(charStyle, consolasFont.getSize());
+    private void applyMixedFont(StyledDocument doc, int offset, String text, Color color) {
+        Style cjkStyle = sharedStyle(yaheiFont, color);
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            if (!isCJKCharacter(text.charAt(i))) {
+                i++;
+                continue;
             }
+            int runStart = i;
+            while (i < length && isCJKCharacter(text.charAt(i))) {
+                i++;
+            }
+            doc.setCharacterAttributes(offset + runStart, i - runStart, cjkStyle, false);
+        }
+    }
 
-            doc.setCharacterAttributes(offset + i, 1, charStyle, false);
+    /**
+     * 按字体和颜色共用的样式，结果面板只会用到少数几种组合
+     */
+    private Style sharedStyle(Font font, Color color) {
+        String name = font.getFamily() + "/" + font.getSize() + "/" + Integer.toHexString(color.getRGB());
+        Style style = resultPane.getStyle(name);
+        if (style == null) {
+            style = resultPane.addStyle(name, null);
+            StyleConstants.setFontFamily(style, font.getFamily());
+            StyleConstants.setFontSize(style, font.getSize());
+            StyleConstants.setForeground(style, color);
         }
+        return style;
     }
 
     /**
      * 判断字符是否为CJK字符（中文、日文、韩文等）
      */
-    private boolean isCJKCharacter(char c) {
+    static boolean isCJKCharacter(char c) {
         Character.UnicodeBlock block = Character.UnicodeBlock.of(c);
         return block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS
                 || block == Character.UnicodeBlock.CJK_COMPATIBILITY_IDEOGRAPHS
@@ -392,14 +591,16 @@ public class ToolGUI extends JFrame {
      */
     private void clearResultPane() {
         resultPane.setText("");
+        largeTextView.clear();
+        resultCards.show(resultPanel, TEXT_VIEW);
     }
 
     /**
      * 从命令行执行特定工具
      */
     public static void executeCommandFromCli(String command, String[] params) {
-        ToolGUI gui = new ToolGUI(false);
-        gui.selectCommand(command);
+        // 需要立即选中命令，先同步完成注册，界面创建时回放全部工具
+        ToolRegistry.initialize(TOOL_PACKAGE);
 
         Map<String, String> paramsMap = new HashMap<>();
         for (String param : params) {
@@ -409,9 +610,13 @@ public class ToolGUI extends JFrame {
             }
         }
 
-        String result = gui.executeToolInternal(command, paramsMap);
-        JOptionPane.showMessageDialog(null, result, "执行结果", JOptionPane.INFORMATION_MESSAGE);
-        gui.setVisible(true);
+        SwingUtilities.invokeLater(() -> {
+            ToolGUI gui = new ToolGUI(false);
+            gui.selectCommand(command);
+            String result = gui.executeToolInternal(command, paramsMap);
+            JOptionPane.showMessageDialog(null, result, "执行结果", JOptionPane.INFORMATION_MESSAGE);
+            gui.setVisible(true);
+        });
     }
 
     /**
@@ -445,6 +650,12 @@ public class ToolGUI extends JFrame {
     }
 
     public static void main(String[] args) {
+        // 多核时工具扫描与外观设置、窗口创建并行进行；单核时两者争用CPU反而更慢，
+        // 由窗口创建完成时再开始扫描
+        if (Runtime.getRuntime().availableProcessors() > 1) {
+            startDiscovery();
+        }
+
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception e) {
@@ -0,0 +1,107 @@
+package org.example.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 常驻服务的轻量客户端，不初始化注册中心，只负责转发命令
+ * 令牌从服务写入的令牌文件读取；路径参数转为绝对路径，按客户端的工作目录解析
+ * Created on 2025/10/17
+ */
+public class ToolClient {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+
+    private final int port;
+
+    public ToolClient(int port) {
+        this.port = port;
+    }
+
+    /**
+     * 在常驻服务上执行工具
+     * @return 执行结果
+     * @throws IOException 服务未启动或通信失败
+     */
+    public String execute(String command, Map<String, String> parameters) throws IOException {
+        String token = readToken();
+        Map<String, String> resolved = new HashMap<>(parameters);
+        for (String name : ToolServer.PATH_PARAMETERS) {
+            String value = resolved.get(name);
+            if (value != null && !value.isEmpty()) {
+                resolved.put(name, Paths.get(value).toAbsolutePath().toString());
+            }
+        }
+
+        URL url = new URL("http", "127.0.0.1", port, ToolServer.EXECUTE_PATH + encode(command));
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8");
+        connection.setRequestProperty(ToolServer.TOKEN_HEADER, token);
+
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(encodeForm(resolved).getBytes(StandardCharsets.UTF_8));
+        }
+
+        InputStream body = connection.getResponseCode() >= 400
+                ? connection.getErrorStream() : connection.getInputStream();
+        try (InputStream in = body) {
+            return in == null ? "" : readString(in);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private String readToken() throws IOException {
+        Path tokenFile = ToolServer.tokenFile(port);
+        try {
+            return new String(Files.readAllBytes(tokenFile), StandardCharsets.US_ASCII).trim();
+        } catch (NoSuchFileException e) {
+            throw new IOException("未找到令牌文件 " + tokenFile + "，服务未启动");
+        }
+    }
+
+    private static String encodeForm(Map<String, String> parameters) {
+        StringBuilder form = new StringBuilder();
+        for (Map.Entry<String, String> entry : parameters.entrySet()) {
+            if (form.length() > 0) {
+                form.append('&');
+            }
+            form.append(encode(entry.getKey())).append('=').append(encode(entry.getValue()));
+        }
+        return form.toString();
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String readString(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            out.write(buffer, 0, n);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
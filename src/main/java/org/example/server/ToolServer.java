@@ -0,0 +1,362 @@
+package org.example.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.core.ToolMetrics;
+import org.example.core.ToolRegistry;
+import org.example.core.ToolRegistry.ToolInfo;
+import org.example.tools.StatsTool;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 常驻服务 - 在本机HTTP端口上提供工具执行，复用已初始化的注册中心和已预热的JIT
+ * 接口:
+ *   POST /execute/{command}  参数为表单(UTF-8)，返回执行结果；须带X-Toolkit-Token请求头
+ *   GET  /commands           返回所有命令，每行一个
+ *   GET  /metrics            各命令的运行指标（Prometheus文本格式）
+ * 工具可以读写文件，为防止本机浏览器中的网页通过跨站请求或DNS重绑定调用：执行只接受POST，
+ * 令牌每次启动随机生成，写入只有当前用户可读的令牌文件（见tokenFile），Host不是本机的请求一律拒绝；
+ * 路径参数必须是绝对路径，避免按服务的工作目录解析
+ * Created on 2025/10/17
+ */
+public class ToolServer {
+
+    public static final int DEFAULT_PORT = 7780;
+    static final String EXECUTE_PATH = "/execute/";
+    private static final String WARMUP_VALUE = "1";
+
+    /**
+     * 值为文件或目录路径的参数名
+     */
+    static final Set<String> PATH_PARAMETERS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "infile", "outfile", "file", "dir", "jsonl", "chunks", "compare", "manifest")));
+
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=UTF-8";
+    static final String TOKEN_HEADER = "X-Toolkit-Token";
+    private static final int TOKEN_BYTES = 32;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] token;
+    private final Path tokenFile;
+    private volatile ScheduledExecutorService metricsExporter;
+
+    private ToolServer(HttpServer server, ExecutorService executor, byte[] token, Path tokenFile) {
+        this.server = server;
+        this.executor = executor;
+        this.token = token;
+        this.tokenFile = tokenFile;
+    }
+
+    /**
+     * 启动服务（只监听回环地址）
+     * @param port 端口
+     * @param warmupIterations 启动前对每个工具的预热次数，0表示不预热
+     */
+    public static ToolServer start(int port, int warmupIterations) throws IOException {
+        if (warmupIterations > 0) {
+            warmUp(warmupIterations);
+            // 预热调用不计入运行指标，占位参数的结果也不留在缓存中
+            ToolRegistry.clearCache();
+            ToolRegistry.resetMetrics();
+        }
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        String token = newToken();
+        Path tokenFile = tokenFile(server.getAddress().getPort());
+        writeOwnerOnly(tokenFile, token);
+
+        ExecutorService executor = newRequestExecutor();
+        server.setExecutor(executor);
+        ToolServer toolServer = new ToolServer(server, executor, token.getBytes(StandardCharsets.US_ASCII), tokenFile);
+        server.createContext(EXECUTE_PATH, toolServer::handleExecute);
+        server.createContext("/commands", ToolServer::handleCommands);
+        server.createContext("/metrics", ToolServer::handleMetrics);
+        server.start();
+        return toolServer;
+    }
+
+    /**
+     * 令牌文件：~/.c-toolkit/server-{port}.token，客户端从这里读取令牌
+     */
+    static Path tokenFile(int port) {
+        return Paths.get(System.getProperty("user.home"), ".c-toolkit", "server-" + port + ".token");
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        new SecureRandom().nextBytes(bytes);
+        StringBuilder sb = new StringBuilder(TOKEN_BYTES * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 令牌文件创建时即只允许所有者读写
+     */
+    private static void writeOwnerOnly(Path file, String text) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.deleteIfExists(file);
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        }
+        Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 停止服务
+     */
+    public void stop() {
+        ScheduledExecutorService exporter = metricsExporter;
+        if (exporter != null) {
+            exporter.shutdownNow();
+        }
+        server.stop(1);
+        try {
+            Files.deleteIfExists(tokenFile);
+        } catch (IOException e) {
+            System.err.println("警告: 删除令牌文件失败: " + e.getMessage());
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 定期把运行指标以Prometheus文本格式写入文件（原子替换），供node_exporter的textfile采集器读取
+     * @param intervalSeconds 写入间隔（秒）
+     */
+    public void exportMetrics(Path file, int intervalSeconds) {
+        ScheduledExecutorService exporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        exporter.scheduleWithFixedDelay(() -> {
+            try {
+                StatsTool.writeAtomically(file, prometheusText());
+            } catch (IOException e) {
+                System.err.println("警告: 写入指标文件失败: " + e.getMessage());
+            }
+        }, 0, Math.max(1, intervalSeconds), TimeUnit.SECONDS);
+        metricsExporter = exporter;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * 预热：用占位参数把每个工具执行若干次，让执行路径在接收请求前完成JIT编译
+     * 路径参数不填，避免在工作目录下创建或覆盖文件；必须提供路径的工具（占位参数下返回错误）只调用一次
+     */
+    static void warmUp(int iterations) {
+        long start = System.nanoTime();
+        int warmed = 0;
+        for (String command : ToolRegistry.getAllToolCommands()) {
+            ToolInfo info = ToolRegistry.getToolInfo(command);
+            Map<String, String> params = new HashMap<>();
+            for (String param : info.parameters) {
+                String name = param.split(":", 2)[0];
+                if (!PATH_PARAMETERS.contains(name)) {
+                    params.put(name, WARMUP_VALUE);
+                }
+            }
+            String result = ToolRegistry.executeTool(command, params);
+            if (result != null && result.startsWith("错误")) {
+                continue;
+            }
+            for (int i = 1; i < iterations; i++) {
+                ToolRegistry.executeTool(command, params);
+            }
+            warmed++;
+        }
+        System.err.printf("预热完成: %d 个工具各 %d 次, 耗时 %d ms%n", warmed,
+                iterations, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * 请求执行器：运行时支持虚拟线程（JDK 21+）时每个请求一个虚拟线程，否则使用固定大小的线程池
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadId = new AtomicInteger();
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2, runnable -> {
+                Thread thread = new Thread(runnable, "tool-server-" + threadId.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void handleExecute(HttpExchange exchange) throws IOException {
+        if (!checkHost(exchange)) {
+            return;
+        }
+        if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", "POST");
+            respond(exchange, 405, "只接受POST");
+            return;
+        }
+        String presented = exchange.getRequestHeaders().getFirst(TOKEN_HEADER);
+        if (presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.US_ASCII))) {
+            respond(exchange, 403, "令牌无效");
+            return;
+        }
+
+        try {
+            String command = decode(exchange.getRequestURI().getRawPath().substring(EXECUTE_PATH.length()));
+            if (ToolRegistry.getToolInfo(command) == null) {
+                respond(exchange, 404, "未找到命令: " + command);
+                return;
+            }
+
+            Map<String, String> params = new HashMap<>();
+            parseForm(exchange.getRequestURI().getRawQuery(), params);
+            parseForm(new String(readAll(exchange.getRequestBody()), StandardCharsets.UTF_8), params);
+            for (String name : PATH_PARAMETERS) {
+                String value = params.get(name);
+                if (value != null && !value.isEmpty() && !Paths.get(value).isAbsolute()) {
+                    respond(exchange, 400, "路径参数必须是绝对路径: " + name);
+                    return;
+                }
+            }
+
+            respond(exchange, 200, ToolRegistry.executeTool(command, params));
+        } catch (IllegalArgumentException e) {
+            // 包括InvalidPathException
+            respond(exchange, 400, "请求格式错误: " + e.getMessage());
+        }
+    }
+
+    private static void handleCommands(HttpExchange exchange) throws IOException {
+        if (checkHost(exchange)) {
+            respond(exchange, 200, String.join("\n", ToolRegistry.getAllToolCommands()));
+        }
+    }
+
+    private static void handleMetrics(HttpExchange exchange) throws IOException {
+        if (checkHost(exchange)) {
+            respond(exchange, 200, prometheusText(), PROMETHEUS_CONTENT_TYPE);
+        }
+    }
+
+    /**
+     * Host不是本机地址的请求（DNS重绑定）返回403
+     * @return 是否继续处理
+     */
+    private static boolean checkHost(HttpExchange exchange) throws IOException {
+        if (isLocalHost(exchange.getRequestHeaders().getFirst("Host"))) {
+            return true;
+        }
+        respond(exchange, 403, "拒绝非本机Host的请求");
+        return false;
+    }
+
+    static boolean isLocalHost(String host) {
+        if (host == null) {
+            return false;
+        }
+        String name = host;
+        if (name.startsWith("[")) {
+            int end = name.indexOf(']');
+            name = end < 0 ? name : name.substring(0, end + 1);
+        } else {
+            int colon = name.lastIndexOf(':');
+            if (colon >= 0) {
+                name = name.substring(0, colon);
+            }
+        }
+        return "localhost".equalsIgnoreCase(name) || "127.0.0.1".equals(name) || "[::1]".equals(name);
+    }
+
+    private static String prometheusText() {
+        return ToolMetrics.formatPrometheus(ToolRegistry.getMetrics(), ToolRegistry.getCacheStats());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        respond(exchange, status, body, "text/plain; charset=UTF-8");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body, String contentType)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * 解析application/x-www-form-urlencoded格式的参数
+     */
+    static void parseForm(String form, Map<String, String> params) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            if (eq < 0) {
+                params.put(decode(pair), "");
+            } else {
+                params.put(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+            }
+        }
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
@@ -2,37 +2,176 @@ package org.example.tools;
 
 import org.example.annotation.Tool;
 import org.example.annotation.ToolMethod;
+import org.example.core.Codec;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Map;
 
 /**
  * Created on 2025/07/25
  */
-@Tool(command = "base64", name = "base64编码解码", description = "对输入字符串base64编码解码", parameters = {"encode:编码", "decode:解码"})
+@Tool(command = "base64", name = "base64编码解码", description = "对输入字符串或文件base64编码解码",
+        parameters = {"encode:编码", "decode:解码", "variant:standard/url/mime(可选,默认standard)",
+                "infile:输入文件(流式处理,需同时提供outfile)", "outfile:输出文件(解码时写入原始字节)",
+                "mode:文件模式encode/decode(可选,默认encode)"}, pure = true,
+        uncachedParameters = {"infile", "outfile"})
 public class Base64Tool {
+
+    /**
+     * 文件流缓冲区大小，内存占用与文件大小无关
+     */
+    private static final int STREAM_BUFFER_SIZE = 1 << 16;
+
     @ToolMethod
-    public String execute(Map<String, String> parameters) {
+    public String execute(Map<String, String> parameters) throws IOException {
         String encode = parameters.get("encode");
         String decode = parameters.get("decode");
-        if (encode != null && !encode.isEmpty()) {
-            return encodeToBase64(encode);
+        String infile = parameters.get("infile");
+        String outfile = parameters.get("outfile");
+        String variant = parameters.get("variant");
+        if (infile != null && !infile.isEmpty()) {
+            if (outfile == null || outfile.isEmpty()) {
+                return "错误: 文件模式必须提供输出文件";
+            }
+            boolean decodeMode = "decode".equalsIgnoreCase(parameters.get("mode"));
+            return transformFile(Paths.get(infile), Paths.get(outfile), decodeMode, variant);
+        } else if (encode != null && !encode.isEmpty()) {
+            return encodeToBase64(encode, variant);
         } else if (decode != null && !decode.isEmpty()) {
-            return decodeFromBase64(decode);
+            byte[] decoded = decodeBytes(decode, variant);
+            if (outfile != null && !outfile.isEmpty()) {
+                Files.write(Paths.get(outfile), decoded);
+                return "已写入 " + decoded.length + " 字节: " + outfile;
+            }
+            return toText(decoded);
         } else {
             return "错误: 必须提供明文或密文";
         }
     }
 
     public static String encodeToBase64(String input) {
-        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
-        byte[] encodedBytes = Base64.getEncoder().encode(bytes);
-        return new String(encodedBytes, StandardCharsets.UTF_8);
+        return Codec.toBase64(input.getBytes(StandardCharsets.UTF_8));
     }
 
     public static String decodeFromBase64(String base64Input) {
-        byte[] decodedBytes = Base64.getDecoder().decode(base64Input);
-        return new String(decodedBytes, StandardCharsets.UTF_8);
+        // 直接从字符解码，不经过getBytes
+        byte[] decodedBytes = new byte[Codec.base64DecodedMaxLength(base64Input.length())];
+        int length = Codec.decodeBase64(base64Input, decodedBytes, 0);
+        return new String(decodedBytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static String encodeToBase64(String input, String variant) {
+        if (isVariant(variant, "url")) {
+            byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+            byte[] encoded = new byte[Codec.base64EncodedLength(bytes.length)];
+            int length = Codec.encodeBase64(bytes, 0, bytes.length, encoded, 0, true);
+            return new String(encoded, 0, length, StandardCharsets.ISO_8859_1);
+        } else if (isVariant(variant, "mime")) {
+            return Base64.getMimeEncoder().encodeToString(input.getBytes(StandardCharsets.UTF_8));
+        }
+        return encodeToBase64(input);
+    }
+
+    private static byte[] decodeBytes(String input, String variant) {
+        if (isVariant(variant, "mime")) {
+            return Base64.getMimeDecoder().decode(input);
+        }
+        byte[] decoded = new byte[Codec.base64DecodedMaxLength(input.length())];
+        int length = Codec.decodeBase64(input, decoded, 0, isVariant(variant, "url"));
+        return length == decoded.length ? decoded : Arrays.copyOf(decoded, length);
+    }
+
+    /**
+     * 解码结果是合法UTF-8时按文本显示，否则按十六进制显示，避免二进制数据被替换字符破坏
+     */
+    private static String toText(byte[] decoded) {
+        try {
+            CharBuffer text = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(decoded));
+            return text.toString();
+        } catch (CharacterCodingException e) {
+            return "解码结果为二进制数据(" + decoded.length + " 字节), 十六进制:\n" + Codec.toHex(decoded)
+                    + "\n提示: 使用outfile参数保存原始字节";
+        }
+    }
+
+    /**
+     * 流式编码或解码文件，输入输出都经过固定大小的缓冲区
+     */
+    private static String transformFile(Path input, Path output, boolean decode, String variant) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            if (decode) {
+                try (InputStream decoder = decoder(variant).wrap(
+                        new BufferedInputStream(Channels.newInputStream(in), STREAM_BUFFER_SIZE))) {
+                    int n;
+                    while ((n = decoder.read(buffer)) != -1) {
+                        ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, n);
+                        while (chunk.hasRemaining()) {
+                            out.write(chunk);
+                        }
+                    }
+                }
+            } else {
+                try (OutputStream encoder = encoder(variant).wrap(
+                        new BufferedOutputStream(Channels.newOutputStream(out), STREAM_BUFFER_SIZE))) {
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer);
+                    while (in.read(chunk) != -1) {
+                        encoder.write(buffer, 0, chunk.position());
+                        chunk.clear();
+                    }
+                }
+            }
+        }
+
+        long inputSize = Files.size(input);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return String.format("%s完成: %s -> %s\n输入: %d 字节, 输出: %d 字节, 耗时: %.3f 秒, 速度: %.1f MB/s",
+                decode ? "解码" : "编码", input, output, inputSize, Files.size(output), seconds,
+                seconds > 0 ? inputSize / (1024.0 * 1024.0) / seconds : 0);
+    }
+
+    private static Base64.Encoder encoder(String variant) {
+        if (isVariant(variant, "url")) {
+            return Base64.getUrlEncoder();
+        } else if (isVariant(variant, "mime")) {
+            return Base64.getMimeEncoder();
+        }
+        return Base64.getEncoder();
+    }
+
+    private static Base64.Decoder decoder(String variant) {
+        if (isVariant(variant, "url")) {
+            return Base64.getUrlDecoder();
+        } else if (isVariant(variant, "mime")) {
+            return Base64.getMimeDecoder();
+        }
+        return Base64.getDecoder();
+    }
+
+    private static boolean isVariant(String variant, String expected) {
+        return variant != null && expected.equalsIgnoreCase(variant.trim());
     }
-}
\ No newline at end of file
+}
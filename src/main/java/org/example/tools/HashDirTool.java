@@ -0,0 +1,313 @@
+package org.example.tools;
+
+import org.example.annotation.Tool;
+import org.example.annotation.ToolMethod;
+import org.example.core.Codec;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 目录哈希：并行计算整个目录树的校验清单，校验时只重新计算大小或修改时间变化的文件
+ * 清单格式（UTF-8文本）：首行为"# c-toolkit manifest algorithm=算法"，
+ * 之后每行"哈希\t大小\t修改时间(毫秒)\t相对路径"，按路径排序
+ * Created on 2025/10/17
+ */
+@Tool(
+        command = "hashdir",
+        name = "目录哈希清单",
+        description = "并行计算目录下所有文件的哈希并生成清单，或按清单增量校验",
+        parameters = {"dir:目录", "mode:create生成清单/verify校验(默认create)",
+                "manifest:清单文件(可选,默认为目录同级的<目录名>.manifest)", "algorithm:算法(可选,默认SHA-256)",
+                "full:校验时是否重新计算所有文件(可选,默认false)",
+                "update:校验后按当前文件更新清单(可选,默认false)", "threads:线程数(可选,默认CPU核数)"}
+)
+public class HashDirTool {
+
+    private static final String MANIFEST_HEADER = "# c-toolkit manifest algorithm=";
+    private static final String DEFAULT_ALGORITHM = "SHA-256";
+    private static final int MAX_REPORTED_PATHS = 200;
+
+    @ToolMethod
+    public static String execute(Map<String, String> parameters) throws IOException, NoSuchAlgorithmException {
+        String dir = parameters.get("dir");
+        if (dir == null || dir.isEmpty()) {
+            return "错误: 必须提供目录";
+        }
+        Path root = Paths.get(dir).toAbsolutePath().normalize();
+        if (!Files.isDirectory(root)) {
+            return "错误: 目录不存在: " + root;
+        }
+
+        String manifestParam = parameters.get("manifest");
+        Path manifest = manifestParam == null || manifestParam.isEmpty()
+                ? root.resolveSibling(root.getFileName() + ".manifest")
+                : Paths.get(manifestParam);
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (parameters.containsKey("threads")) {
+            try {
+                threads = Math.max(1, Integer.parseInt(parameters.get("threads")));
+            } catch (NumberFormatException e) {
+                // 使用默认值
+            }
+        }
+
+        if ("verify".equalsIgnoreCase(parameters.get("mode"))) {
+            return verify(root, manifest, "true".equalsIgnoreCase(parameters.get("full")),
+                    "true".equalsIgnoreCase(parameters.get("update")), threads);
+        }
+        String algorithm = parameters.get("algorithm");
+        return create(root, manifest, algorithm == null || algorithm.isEmpty()
+                ? DEFAULT_ALGORITHM : algorithm.trim().toUpperCase(), threads);
+    }
+
+    /**
+     * 清单中的一个文件
+     */
+    private static final class FileEntry {
+        final String relativePath;
+        final Path path;
+        final long size;
+        final long modifiedMillis;
+        String hash;
+
+        FileEntry(String relativePath, Path path, long size, long modifiedMillis) {
+            this.relativePath = relativePath;
+            this.path = path;
+            this.size = size;
+            this.modifiedMillis = modifiedMillis;
+        }
+    }
+
+    private static String create(Path root, Path manifest, String algorithm, int threads)
+            throws IOException, NoSuchAlgorithmException {
+        // 提前校验算法名称
+        MessageDigest.getInstance(algorithm);
+
+        long start = System.nanoTime();
+        List<FileEntry> files = listFiles(root, manifest);
+        long bytes = hashAll(files, algorithm, threads);
+        writeManifest(manifest, algorithm, files);
+
+        return String.format("清单已生成: %s\n文件: %d 个, %s", manifest, files.size(), throughput(bytes, start));
+    }
+
+    private static String verify(Path root, Path manifest, boolean full, boolean update, int threads)
+            throws IOException, NoSuchAlgorithmException {
+        if (!Files.isRegularFile(manifest)) {
+            return "错误: 清单不存在: " + manifest;
+        }
+
+        long start = System.nanoTime();
+        Map<String, FileEntry> expected = new HashMap<>();
+        String algorithm = readManifest(manifest, expected);
+
+        // 只重新计算新增文件以及大小或修改时间变化的文件
+        List<FileEntry> current = listFiles(root, manifest);
+        List<FileEntry> toHash = new ArrayList<>();
+        List<String> added = new ArrayList<>();
+        int skipped = 0;
+        for (FileEntry file : current) {
+            FileEntry old = expected.get(file.relativePath);
+            if (old == null) {
+                added.add(file.relativePath);
+                if (update) {
+                    toHash.add(file);
+                }
+            } else if (full || old.size != file.size || old.modifiedMillis != file.modifiedMillis) {
+                toHash.add(file);
+            } else {
+                file.hash = old.hash;
+                skipped++;
+            }
+        }
+        long bytes = hashAll(toHash, algorithm, threads);
+        if (update) {
+            writeManifest(manifest, algorithm, current);
+        }
+
+        List<String> modified = new ArrayList<>();
+        int touched = 0;
+        for (FileEntry file : toHash) {
+            FileEntry old = expected.get(file.relativePath);
+            if (old == null) {
+                continue;
+            }
+            if (!old.hash.equalsIgnoreCase(file.hash)) {
+                modified.add(file.relativePath);
+            } else if (old.size != file.size || old.modifiedMillis != file.modifiedMillis) {
+                touched++;
+            }
+        }
+        for (FileEntry file : current) {
+            expected.remove(file.relativePath);
+        }
+        List<String> missing = new ArrayList<>(expected.keySet());
+        missing.sort(null);
+
+        StringBuilder result = new StringBuilder();
+        result.append(modified.isEmpty() && added.isEmpty() && missing.isEmpty() ? "校验通过" : "校验失败")
+                .append("\n文件: ").append(current.size()).append(" 个, 未变化跳过: ").append(skipped)
+                .append(", 重新计算: ").append(toHash.size()).append(" (其中仅时间变化: ").append(touched).append(")")
+                .append("\n修改: ").append(modified.size()).append(", 新增: ").append(added.size())
+                .append(", 缺失: ").append(missing.size())
+                .append('\n').append(throughput(bytes, start));
+        if (update) {
+            result.append("\n清单已更新: ").append(manifest);
+        }
+        appendPaths(result, "修改", modified);
+        appendPaths(result, "新增", added);
+        appendPaths(result, "缺失", missing);
+        return result.toString();
+    }
+
+    /**
+     * 遍历目录树（不包含清单文件本身）
+     */
+    private static List<FileEntry> listFiles(Path root, Path manifest) throws IOException {
+        Path manifestPath = manifest.toAbsolutePath().normalize();
+        List<FileEntry> files = new ArrayList<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && !file.equals(manifestPath)) {
+                    String relativePath = root.relativize(file).toString().replace('\\', '/');
+                    files.add(new FileEntry(relativePath, file, attrs.size(), attrs.lastModifiedTime().toMillis()));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return files;
+    }
+
+    /**
+     * 在ForkJoinPool中并行计算哈希，按文件大小从大到小分配，避免大文件最后才开始导致其他线程空闲
+     * @return 处理的总字节数
+     */
+    private static long hashAll(List<FileEntry> files, String algorithm, int threads)
+            throws IOException, NoSuchAlgorithmException {
+        FileEntry[] queue = files.toArray(new FileEntry[0]);
+        Arrays.sort(queue, Comparator.comparingLong((FileEntry file) -> file.size).reversed());
+        AtomicInteger next = new AtomicInteger();
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<Future<Long>> workers = new ArrayList<>();
+            for (int i = 0; i < Math.min(threads, queue.length); i++) {
+                workers.add(pool.submit(() -> {
+                    // 每个工作线程一个缓冲区，队列按大小降序，第一个文件最大
+                    ByteBuffer buffer = HashTool.newFileBuffer(queue[0].size);
+                    long bytes = 0;
+                    int index;
+                    while ((index = next.getAndIncrement()) < queue.length) {
+                        FileEntry file = queue[index];
+                        file.hash = Codec.toHex(HashTool.hashFile(file.path, buffer, algorithm)[0]);
+                        bytes += file.size;
+                    }
+                    return bytes;
+                }));
+            }
+
+            long total = 0;
+            for (Future<Long> worker : workers) {
+                total += worker.get();
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("计算被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof NoSuchAlgorithmException) {
+                throw (NoSuchAlgorithmException) cause;
+            }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            throw new IOException(cause);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void writeManifest(Path manifest, String algorithm, List<FileEntry> files) throws IOException {
+        Map<String, FileEntry> sorted = new TreeMap<>();
+        for (FileEntry file : files) {
+            sorted.put(file.relativePath, file);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(manifest, StandardCharsets.UTF_8)) {
+            writer.write(MANIFEST_HEADER + algorithm);
+            writer.newLine();
+            for (FileEntry file : sorted.values()) {
+                writer.write(file.hash + "\t" + file.size + "\t" + file.modifiedMillis + "\t" + file.relativePath);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * 读取清单
+     * @return 清单使用的算法
+     */
+    private static String readManifest(Path manifest, Map<String, FileEntry> entries) throws IOException {
+        String algorithm = DEFAULT_ALGORITHM;
+        try (BufferedReader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(MANIFEST_HEADER)) {
+                    algorithm = line.substring(MANIFEST_HEADER.length()).trim();
+                    continue;
+                }
+                String[] fields = line.split("\t", 4);
+                if (line.startsWith("#") || fields.length < 4) {
+                    continue;
+                }
+                FileEntry entry = new FileEntry(fields[3], null, Long.parseLong(fields[1]), Long.parseLong(fields[2]));
+                entry.hash = fields[0];
+                entries.put(entry.relativePath, entry);
+            }
+        }
+        return algorithm;
+    }
+
+    private static void appendPaths(StringBuilder result, String label, List<String> paths) {
+        for (int i = 0; i < paths.size() && i < MAX_REPORTED_PATHS; i++) {
+            result.append('\n').append(label).append(": ").append(paths.get(i));
+        }
+        if (paths.size() > MAX_REPORTED_PATHS) {
+            result.append("\n... 另有 ").append(paths.size() - MAX_REPORTED_PATHS).append(" 个").append(label).append("文件");
+        }
+    }
+
+    private static String throughput(long bytes, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return String.format("计算: %.1f MB, 耗时: %.3f 秒, 速度: %.1f MB/s", bytes / (1024.0 * 1024.0), seconds,
+                seconds > 0 ? bytes / (1024.0 * 1024.0) / seconds : 0);
+    }
+}
@@ -2,36 +2,171 @@ package org.example.tools;
 
 import org.example.annotation.Tool;
 import org.example.annotation.ToolMethod;
+import org.example.core.Codec;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * Created on 2025/09/16
  */
-@Tool(command = "hash", name = "哈希(md5,sha256...)", description = "对字符串哈希", parameters = {"string:原始字符串"})
+@Tool(command = "hash", name = "哈希(md5,sha256...)", description = "对字符串或文件哈希",
+        parameters = {"string:原始字符串", "file:文件路径(流式读取一次，同时计算所有算法)",
+                "algorithms:算法列表(可选,逗号分隔,默认MD5,SHA-256; 支持MD5,SHA-1,SHA-256,SHA-512)"}, pure = true,
+        uncachedParameters = {"file"})
 public class HashTool {
 
+    private static final String[] DEFAULT_ALGORITHMS = {"MD5", "SHA-256"};
+
+    /**
+     * 文件读取缓冲区大小
+     */
+    private static final int FILE_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * 复用的直接缓冲区个数上限，与并行任务的默认线程数相同，超过时用完即丢弃
+     */
+    private static final int MAX_POOLED_BUFFERS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 直接缓冲区的有界池 - 调用方用完归还，不按线程持有，虚拟线程和临时线程池也不会每次新分配
+     */
+    private static final BlockingQueue<ByteBuffer> FILE_BUFFERS = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+
     @ToolMethod
-    public static String execute(Map<String, String> parameters) throws NoSuchAlgorithmException {
+    public static String execute(Map<String, String> parameters) throws NoSuchAlgorithmException, IOException {
         String string = parameters.get("string");
-        if (string != null && !string.isEmpty()) {
-            return "md5: " + generateHash(string, "MD5") + "\nsha256: " + generateHash(string, "SHA-256");
+        String file = parameters.get("file");
+        String[] algorithms = parseAlgorithms(parameters.get("algorithms"));
+        if (file != null && !file.isEmpty()) {
+            return hashFileReport(Paths.get(file), algorithms);
+        } else if (string != null && !string.isEmpty()) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            StringBuilder result = new StringBuilder();
+            for (String algorithm : algorithms) {
+                appendLine(result, algorithm, generateHash(bytes, algorithm));
+            }
+            return result.toString();
         } else {
-            return "错误: 必须提供原始字符串";
+            return "错误: 必须提供原始字符串或文件路径";
+        }
+    }
+
+    /**
+     * 对文件计算哈希并附带吞吐量
+     */
+    private static String hashFileReport(Path path, String[] algorithms) throws NoSuchAlgorithmException, IOException {
+        long start = System.nanoTime();
+        byte[][] hashes = hashFile(path, algorithms);
+        long elapsedNanos = System.nanoTime() - start;
+
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < algorithms.length; i++) {
+            appendLine(result, algorithms[i], Codec.toHex(hashes[i]));
+        }
+        long size = path.toFile().length();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        result.append(String.format("\n大小: %d 字节, 耗时: %.3f 秒, 速度: %.1f MB/s",
+                size, seconds, seconds > 0 ? size / (1024.0 * 1024.0) / seconds : 0));
+        return result.toString();
+    }
+
+    /**
+     * 单次读取文件，同一块数据依次送入所有算法
+     * @param path 文件路径
+     * @param algorithms 算法名称（如 "MD5", "SHA-256"）
+     * @return 与算法顺序对应的哈希值
+     */
+    public static byte[][] hashFile(Path path, String... algorithms) throws NoSuchAlgorithmException, IOException {
+        ByteBuffer buffer = FILE_BUFFERS.poll();
+        if (buffer == null) {
+            buffer = newFileBuffer(FILE_BUFFER_SIZE);
+        }
+        try {
+            return hashFile(path, buffer, algorithms);
+        } finally {
+            FILE_BUFFERS.offer(buffer);
+        }
+    }
+
+    /**
+     * 使用调用方持有的缓冲区计算哈希，批量处理时每个工作线程分配一次即可
+     * @param buffer 读取缓冲区，由{@link #newFileBuffer(long)}创建
+     */
+    public static byte[][] hashFile(Path path, ByteBuffer buffer, String... algorithms)
+            throws NoSuchAlgorithmException, IOException {
+        MessageDigest[] digests = new MessageDigest[algorithms.length];
+        for (int i = 0; i < algorithms.length; i++) {
+            digests[i] = MessageDigest.getInstance(algorithms[i]);
+        }
+
+        buffer.clear();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                for (MessageDigest digest : digests) {
+                    buffer.mark();
+                    digest.update(buffer);
+                    buffer.reset();
+                }
+                buffer.clear();
+            }
+        }
+
+        byte[][] hashes = new byte[digests.length][];
+        for (int i = 0; i < digests.length; i++) {
+            hashes[i] = digests[i].digest();
+        }
+        return hashes;
+    }
+
+    /**
+     * 读取缓冲区，文件都较小时按最大的文件分配，不必占用完整的1MB
+     * @param maxFileSize 要读取的最大文件大小
+     */
+    public static ByteBuffer newFileBuffer(long maxFileSize) {
+        return ByteBuffer.allocateDirect((int) Math.max(1, Math.min(FILE_BUFFER_SIZE, maxFileSize)));
+    }
+
+    private static String[] parseAlgorithms(String algorithms) {
+        if (algorithms == null || algorithms.trim().isEmpty()) {
+            return DEFAULT_ALGORITHMS;
+        }
+        String[] names = algorithms.split(",");
+        for (int i = 0; i < names.length; i++) {
+            names[i] = names[i].trim().toUpperCase();
         }
+        return names;
     }
 
     /**
-     * 生成字符串的哈希值
-     * @param input 原始字符串
+     * 输出格式与原来保持一致，如 "md5: ...", "sha256: ..."
+     */
+    private static void appendLine(StringBuilder result, String algorithm, String hex) {
+        if (result.length() > 0) {
+            result.append('\n');
+        }
+        result.append(algorithm.toLowerCase().replace("-", "")).append(": ").append(hex);
+    }
+
+    /**
+     * 生成哈希值
+     * @param input 原始字符串的UTF-8字节
      * @param algorithm 算法名称（如 "MD5", "SHA-256"）
      * @return 十六进制格式的哈希值
      * @throws NoSuchAlgorithmException 如果算法不支持
      */
-    private static String generateHash(String input, String algorithm) throws NoSuchAlgorithmException {
+    private static String generateHash(byte[] input, String algorithm) throws NoSuchAlgorithmException {
         if (input == null || algorithm == null) {
             throw new IllegalArgumentException("Input and algorithm must not be null");
         }
@@ -40,26 +175,9 @@ public class HashTool {
         MessageDigest digest = MessageDigest.getInstance(algorithm);
 
         // 计算哈希值
-        byte[] hashBytes = digest.digest(input.getBytes(StandardCharsets.UTF_8));
+        byte[] hashBytes = digest.digest(input);
 
         // 将字节数组转换为十六进制字符串
-        return bytesToHex(hashBytes);
+        return Codec.toHex(hashBytes);
     }
-
-    /**
-     * 将字节数组转换为十六进制字符串
-     */
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder hexString = new StringBuilder(2 * bytes.length);
-        for (byte b : bytes) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) {
-                hexString.append('0'); // 补齐单字符前的0
-            }
-            hexString.append(hex);
-        }
-        return hexString.toString();
-    }
-
-
 }
@@ -0,0 +1,226 @@
+package org.example.tools;
+
+import org.example.annotation.Tool;
+import org.example.annotation.ToolMethod;
+import org.example.core.Codec;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidParameterException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 批量生成密钥对：多线程并行生成，每生成一个立即写出
+ * <ul>
+ *     <li>dir：每个密钥对写成两个PEM文件，&lt;算法&gt;-&lt;序号&gt;.pub.pem(X.509)和&lt;算法&gt;-&lt;序号&gt;.key.pem(PKCS#8)</li>
+ *     <li>jsonl：每行一个 {"index":1,"algorithm":"EC","publicKey":"...","privateKey":"..."}，按完成顺序写出</li>
+ * </ul>
+ * Created on 2025/10/17
+ */
+@Tool(
+        command = "keygen",
+        name = "批量密钥对生成",
+        description = "多线程批量生成RSA/EC(P-256)/Ed25519密钥对，输出PEM文件或JSONL",
+        parameters = {"count:每种算法生成的数量(可选,默认1)", "algorithm:算法RSA/EC/Ed25519,可逗号分隔多个(可选,默认RSA)",
+                "keySize:RSA密钥长度(可选,默认2048)", "dir:PEM输出目录(与jsonl二选一)", "jsonl:JSONL输出文件(与dir二选一)",
+                "threads:线程数(可选,默认CPU核数)"}
+)
+public class KeyGenTool {
+
+    private static final int DEFAULT_RSA_KEY_SIZE = 2048;
+    private static final String EC_CURVE = "secp256r1";
+    private static final Base64.Encoder PEM_ENCODER =
+            Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII));
+
+    @ToolMethod
+    public static String execute(Map<String, String> parameters) throws IOException {
+        int count = ShardingTool.parseInt(parameters.get("count"), 1);
+        int keySize = ShardingTool.parseInt(parameters.get("keySize"), DEFAULT_RSA_KEY_SIZE);
+        int threads = Math.max(1, ShardingTool.parseInt(parameters.get("threads"),
+                Runtime.getRuntime().availableProcessors()));
+        String dir = parameters.get("dir");
+        String jsonl = parameters.get("jsonl");
+        if (count <= 0) {
+            return "错误: 数量必须大于0";
+        }
+        if ((dir == null || dir.isEmpty()) == (jsonl == null || jsonl.isEmpty())) {
+            return "错误: 必须提供输出目录dir或JSONL文件jsonl中的一个";
+        }
+        String algorithmParam = parameters.get("algorithm");
+        String[] algorithms = (algorithmParam == null || algorithmParam.trim().isEmpty() ? "RSA" : algorithmParam).split(",");
+        for (int i = 0; i < algorithms.length; i++) {
+            algorithms[i] = normalize(algorithms[i]);
+            try {
+                newGenerator(algorithms[i], keySize);
+            } catch (NoSuchAlgorithmException e) {
+                return "错误: 当前JDK不支持" + algorithms[i]
+                        + ("Ed25519".equals(algorithms[i]) ? "(需要Java 15及以上)" : "") + ": " + e.getMessage();
+            } catch (IllegalArgumentException e) {
+                return "错误: " + e.getMessage();
+            }
+        }
+
+        StringBuilder result = new StringBuilder();
+        if (dir != null && !dir.isEmpty()) {
+            Path directory = Paths.get(dir);
+            Files.createDirectories(directory);
+            for (String algorithm : algorithms) {
+                appendReport(result, algorithm, count, threads, generate(algorithm, keySize, count, threads,
+                        (index, keyPair) -> writePem(directory, algorithm, index, count, keyPair)));
+            }
+            result.append("\n输出目录: ").append(directory.toAbsolutePath());
+        } else {
+            Path output = Paths.get(jsonl);
+            // 文件中包含全部私钥，与PEM私钥文件一样创建时即只允许所有者读写
+            createOwnerOnly(output);
+            try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                for (String algorithm : algorithms) {
+                    appendReport(result, algorithm, count, threads, generate(algorithm, keySize, count, threads,
+                            (index, keyPair) -> writeJson(writer, algorithm, index, keyPair)));
+                }
+            }
+            result.append("\n输出文件: ").append(Paths.get(jsonl).toAbsolutePath());
+        }
+        return result.toString();
+    }
+
+    /**
+     * 每个生成好的密钥对的处理方式，会被多个线程同时调用
+     */
+    private interface KeyPairSink {
+        void accept(int index, KeyPair keyPair) throws IOException;
+    }
+
+    /**
+     * 多线程生成count个密钥对，每个线程使用自己的生成器
+     * @return 耗时（纳秒）
+     */
+    private static long generate(String algorithm, int keySize, int count, int threads, KeyPairSink sink)
+            throws IOException {
+        AtomicInteger next = new AtomicInteger();
+        int workerCount = Math.min(threads, count);
+        ExecutorService pool = Executors.newFixedThreadPool(workerCount);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(pool.submit(() -> {
+                    KeyPairGenerator generator = newGenerator(algorithm, keySize);
+                    int index;
+                    while ((index = next.incrementAndGet()) <= count) {
+                        sink.accept(index, generator.generateKeyPair());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("生成被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            throw new IOException(cause);
+        } finally {
+            pool.shutdownNow();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static KeyPairGenerator newGenerator(String algorithm, int keySize) throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+        try {
+            if ("RSA".equals(algorithm)) {
+                generator.initialize(keySize);
+            } else if ("EC".equals(algorithm)) {
+                generator.initialize(new ECGenParameterSpec(EC_CURVE));
+            }
+        } catch (InvalidParameterException | InvalidAlgorithmParameterException e) {
+            throw new IllegalArgumentException("不支持的" + algorithm + "参数: " + e.getMessage(), e);
+        }
+        return generator;
+    }
+
+    private static String normalize(String algorithm) {
+        String name = algorithm.trim();
+        if (name.equalsIgnoreCase("rsa")) {
+            return "RSA";
+        } else if (name.equalsIgnoreCase("ec") || name.equalsIgnoreCase("p-256") || name.equalsIgnoreCase("p256")) {
+            return "EC";
+        } else if (name.equalsIgnoreCase("ed25519")) {
+            return "Ed25519";
+        }
+        return name;
+    }
+
+    private static void writePem(Path directory, String algorithm, int index, int count, KeyPair keyPair)
+            throws IOException {
+        String name = String.format("%s-%0" + Math.max(4, String.valueOf(count).length()) + "d", algorithm, index);
+        Files.write(directory.resolve(name + ".pub.pem"),
+                pem("PUBLIC KEY", keyPair.getPublic().getEncoded()).getBytes(StandardCharsets.US_ASCII));
+        Path privateKey = directory.resolve(name + ".key.pem");
+        // 私钥文件创建时即只允许所有者读写
+        createOwnerOnly(privateKey);
+        Files.write(privateKey, pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 以rw-------重新创建文件（文件系统不支持POSIX权限时不处理），之后写入不会改变权限
+     */
+    private static void createOwnerOnly(Path file) throws IOException {
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.deleteIfExists(file);
+            Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        }
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n" + PEM_ENCODER.encodeToString(der) + "\n-----END " + type + "-----\n";
+    }
+
+    private static void writeJson(Writer writer, String algorithm, int index, KeyPair keyPair) throws IOException {
+        String line = "{\"index\":" + index + ",\"algorithm\":\"" + algorithm
+                + "\",\"publicKey\":\"" + Codec.toBase64(keyPair.getPublic().getEncoded())
+                + "\",\"privateKey\":\"" + Codec.toBase64(keyPair.getPrivate().getEncoded()) + "\"}\n";
+        synchronized (writer) {
+            writer.write(line);
+        }
+    }
+
+    private static void appendReport(StringBuilder result, String algorithm, int count, int threads, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        if (result.length() > 0) {
+            result.append('\n');
+        }
+        result.append(String.format("%s: %d 个, 线程: %d, 耗时: %.3f 秒, 速度: %.1f 个/秒", algorithm, count,
+                Math.min(threads, count), seconds, seconds > 0 ? count / seconds : 0));
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.tools;
+
+import org.example.annotation.Tool;
+import org.example.annotation.ToolMethod;
+import org.example.core.ParallelLineProcessor;
+import org.example.tools.shard.KeyHashes;
+import org.example.tools.shard.RoutingTable;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * 分库分表路由：订单号 -> db_x.table_y
+ * 规则见{@link RoutingTable}，编译后的路由表会被缓存，批量模式下所有线程共用同一个路由表
+ * Created on 2025/10/17
+ */
+@Tool(
+        command = "route",
+        name = "分库分表路由",
+        description = "按库、表两级规则计算订单号所在的库表，支持批量路由文件",
+        parameters = {"orderId:订单号", "dbs:库数量(可选,默认2)", "tables:每库表数量(可选,默认4)",
+                "db:库规则slot/mod/hash[:函数]/range:起-止:边界,.../外层/内层(可选,默认slot)",
+                "table:表规则,格式同库规则(可选,默认slot)",
+                "hash:哈希函数java/crc32/murmur3/xxhash64(可选,默认java)",
+                "infile:订单号文件,每行一个(可选,批量路由)", "outfile:输出文件,每行\"订单号\\t库表\"(批量时必填)",
+                "threads:批量线程数(可选,默认CPU核数)"},
+        pure = true, uncachedParameters = {"infile", "outfile"}
+)
+public class RouteTool {
+
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    @ToolMethod
+    public static String execute(Map<String, String> parameters) throws IOException {
+        String orderId = parameters.get("orderId");
+        String infile = parameters.get("infile");
+        if ((orderId == null || orderId.isEmpty()) && (infile == null || infile.isEmpty())) {
+            return "错误: 必须提供订单号或订单号文件";
+        }
+
+        RoutingTable table;
+        try {
+            table = RoutingTable.cached(ShardingTool.parseInt(parameters.get("dbs"), 2),
+                    ShardingTool.parseInt(parameters.get("tables"), 4), parameters.get("db"), parameters.get("table"),
+                    KeyHashes.of(parameters.get("hash")));
+        } catch (IllegalArgumentException e) {
+            return "错误: " + e.getMessage();
+        }
+
+        if (infile != null && !infile.isEmpty()) {
+            String outfile = parameters.get("outfile");
+            if (outfile == null || outfile.isEmpty()) {
+                return "错误: 批量路由必须提供输出文件";
+            }
+            int threads = Math.max(1, ShardingTool.parseInt(parameters.get("threads"),
+                    Runtime.getRuntime().availableProcessors()));
+            return routeFile(table, infile, outfile, threads);
+        }
+        try {
+            return "订单 '" + orderId + "' 路由到: " + table.route(orderId.trim());
+        } catch (IllegalArgumentException e) {
+            return "错误: " + e.getMessage();
+        }
+    }
+
+    /**
+     * 批量路由，输出顺序与输入一致；不符合规则的订单号输出"错误: ..."，不中断处理
+     */
+    private static String routeFile(RoutingTable table, String infile, String outfile, int threads) throws IOException {
+        long start = System.nanoTime();
+        long lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                Files.newInputStream(Paths.get(infile)), StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                     Files.newOutputStream(Paths.get(outfile)), StandardCharsets.UTF_8), IO_BUFFER_SIZE)) {
+            lines = new ParallelLineProcessor(threads).process(reader, writer, line -> {
+                String orderId = line.trim();
+                try {
+                    return orderId + '\t' + table.route(orderId);
+                } catch (IllegalArgumentException e) {
+                    return orderId + "\t错误: " + e.getMessage();
+                }
+            });
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return String.format("路由完成: %s -> %s\n%s\n订单号: %d, 线程: %d, 耗时: %.3f 秒, 速度: %.0f 个/秒",
+                infile, outfile, table, lines, threads, seconds, seconds > 0 ? lines / seconds : 0);
+    }
+}
@@ -2,9 +2,11 @@ package org.example.tools;
 
 import org.example.annotation.Tool;
 import org.example.annotation.ToolMethod;
+import org.example.core.Codec;
+import org.example.tools.key.KeyPairPool;
 
 import java.security.*;
-import java.util.Base64;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -14,37 +16,72 @@ import java.util.Map;
         command = "rsa",
         name = "RSA密钥对生成器",
         description = "生成一个RSA密钥对",
-        parameters = {"keySize:密钥长度(可选,默认2048)"}
+        parameters = {"keySize:密钥长度(可选,默认2048)",
+                "pool:true时从后台预生成的密钥池取用(可选,默认false,仅支持2048/3072/4096)",
+                "poolSize:密钥池容量(可选,默认8,最大64,首次创建池时生效)",
+                "workers:密钥池后台线程数(可选,默认1,最大4,首次创建池时生效)",
+                "stats:true时只显示各密钥池状态(可选)"}
 )
 public class RsaKeyGeneratorTool {
 
     private static final int DEFAULT_KEY_SIZE = 2048;
+    private static final int DEFAULT_POOL_SIZE = 8;
+    private static final int DEFAULT_POOL_WORKERS = 1;
 
     @ToolMethod
     public static String execute(Map<String, String> parameters) {
-
-        int keySize = DEFAULT_KEY_SIZE;
-        if (parameters.containsKey("keySize")) {
-            try {
-                keySize = Integer.parseInt(parameters.get("keySize"));
-            } catch (NumberFormatException e) {
-                // 使用默认值
-            }
+        if ("true".equalsIgnoreCase(parameters.get("stats"))) {
+            return poolStats();
         }
 
+        int keySize = parseInt(parameters.get("keySize"), DEFAULT_KEY_SIZE);
+
         try {
-            // 生成RSA密钥对
-            KeyPair keyPair = generateRSAKeyPair(keySize);
+            // 生成RSA密钥对，开启密钥池时优先取预生成的密钥
+            KeyPair keyPair;
+            if ("true".equalsIgnoreCase(parameters.get("pool"))) {
+                keyPair = KeyPairPool.rsa(keySize, parseInt(parameters.get("poolSize"), DEFAULT_POOL_SIZE),
+                        parseInt(parameters.get("workers"), DEFAULT_POOL_WORKERS)).take();
+            } else {
+                keyPair = generateRSAKeyPair(keySize);
+            }
             PublicKey publicKey = keyPair.getPublic();
             PrivateKey privateKey = keyPair.getPrivate();
 
             // 打印公钥和私钥（通常是以字符串形式存储，比如Base64编码）
-            return "Public Key: " + Base64.getEncoder().encodeToString(publicKey.getEncoded())+"\n"+"Private Key: " + Base64.getEncoder().encodeToString(privateKey.getEncoded());
-        } catch (NoSuchAlgorithmException e) {
+            return "Public Key: " + Codec.toBase64(publicKey.getEncoded())+"\n"+"Private Key: " + Codec.toBase64(privateKey.getEncoded());
+        } catch (NoSuchAlgorithmException | IllegalArgumentException e) {
             return "RSA秘钥对生成失败"+e.getMessage();
         }
     }
 
+    private static String poolStats() {
+        List<KeyPairPool> pools = KeyPairPool.pools();
+        if (pools.isEmpty()) {
+            return "没有已创建的密钥池";
+        }
+        StringBuilder result = new StringBuilder();
+        for (KeyPairPool pool : pools) {
+            if (result.length() > 0) {
+                result.append('\n');
+            }
+            result.append(pool.stats());
+        }
+        return result.toString();
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            // 使用默认值
+            return defaultValue;
+        }
+    }
+
     private static KeyPair generateRSAKeyPair(Integer keySize) throws NoSuchAlgorithmException {
         // 创建RSA密钥生成器实例
         KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
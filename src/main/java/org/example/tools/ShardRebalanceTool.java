@@ -0,0 +1,118 @@
+package org.example.tools;
+
+import org.example.annotation.Tool;
+import org.example.annotation.ToolMethod;
+import org.example.tools.shard.KeyHash;
+import org.example.tools.shard.KeyHashes;
+import org.example.tools.shard.ShardStrategy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 扩缩容模拟：统计分片数从N变为M时有多少键需要迁移
+ * 键的哈希函数与shard命令相同，每个键只计算一次哈希，之后每个策略各查找两遍
+ * Created on 2025/10/17
+ */
+@Tool(
+        command = "rebalance",
+        name = "分片扩缩容模拟",
+        description = "统计分片数变化时各分片策略需要迁移的键比例",
+        parameters = {"from:当前分片数", "to:目标分片数",
+                "strategy:分片策略mod/jump/ring(可选,默认全部比较)", "vnodes:ring策略每个分片的虚拟节点数(可选,默认160,与分片数之积最多262144)",
+                "hash:哈希函数java/crc32/murmur3/xxhash64(可选,默认java)",
+                "samples:生成的样本键数量(可选,默认100000)", "infile:订单号文件,每行一个(可选,提供时使用文件中的键)"}
+)
+public class ShardRebalanceTool {
+
+    private static final int DEFAULT_SAMPLES = 100_000;
+    private static final String[] ALL_STRATEGIES = {"mod", "jump", "ring"};
+
+    @ToolMethod
+    public static String execute(Map<String, String> parameters) throws IOException {
+        int from = ShardingTool.parseInt(parameters.get("from"), -1);
+        int to = ShardingTool.parseInt(parameters.get("to"), -1);
+        if (from <= 0 || to <= 0) {
+            return "错误: 必须提供大于0的当前分片数和目标分片数";
+        }
+        int vnodes = ShardingTool.parseInt(parameters.get("vnodes"), ShardStrategy.DEFAULT_VNODES);
+        String strategy = parameters.get("strategy");
+        String[] strategies = strategy == null || strategy.trim().isEmpty()
+                ? ALL_STRATEGIES : new String[]{strategy.trim()};
+
+        KeyHash keyHash;
+        try {
+            keyHash = KeyHashes.of(parameters.get("hash"));
+        } catch (IllegalArgumentException e) {
+            return "错误: " + e.getMessage();
+        }
+        String infile = parameters.get("infile");
+        long[] hashes = infile == null || infile.isEmpty()
+                ? sampleHashes(keyHash, ShardingTool.parseInt(parameters.get("samples"), DEFAULT_SAMPLES))
+                : fileHashes(keyHash, infile);
+        if (hashes.length == 0) {
+            return "错误: 没有可用的键";
+        }
+
+        StringBuilder result = new StringBuilder();
+        result.append("分片数: ").append(from).append(" -> ").append(to)
+                .append(", 键: ").append(hashes.length).append(", 哈希: ").append(keyHash.name())
+                .append(String.format(", 理论最少迁移: %.2f%%", 100.0 * Math.abs(to - from) / Math.max(from, to)));
+        for (String name : strategies) {
+            ShardStrategy before;
+            ShardStrategy after;
+            try {
+                before = ShardStrategy.of(name, from, vnodes);
+                after = ShardStrategy.of(name, to, vnodes);
+            } catch (IllegalArgumentException e) {
+                return "错误: " + e.getMessage();
+            }
+            long start = System.nanoTime();
+            long moved = 0;
+            for (long hash : hashes) {
+                if (before.shard(hash) != after.shard(hash)) {
+                    moved++;
+                }
+            }
+            double nanosPerLookup = (System.nanoTime() - start) / (2.0 * hashes.length);
+            result.append(String.format("\n%s: 迁移 %.2f%% (%d/%d), 查找 %.1f ns/键", after.name(),
+                    100.0 * moved / hashes.length, moved, hashes.length, nanosPerLookup));
+        }
+        return result.toString();
+    }
+
+    /**
+     * 生成形如 ORD20251017000001 的连续订单号，与实际订单号的哈希分布接近
+     */
+    private static long[] sampleHashes(KeyHash keyHash, int samples) {
+        long[] hashes = new long[Math.max(0, samples)];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = keyHash.hash("ORD" + (20251017000000L + i));
+        }
+        return hashes;
+    }
+
+    private static long[] fileHashes(KeyHash keyHash, String file) throws IOException {
+        long[] hashes = new long[1024];
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (count == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, count * 2);
+                }
+                hashes[count++] = keyHash.hash(line);
+            }
+        }
+        return Arrays.copyOf(hashes, count);
+    }
+}
@@ -2,6 +2,19 @@ package org.example.tools;
 
 import org.example.annotation.Tool;
 import org.example.annotation.ToolMethod;
+import org.example.core.ParallelLineProcessor;
+import org.example.tools.shard.KeyHash;
+import org.example.tools.shard.KeyHashes;
+import org.example.tools.shard.ShardStrategy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -10,34 +23,150 @@ import java.util.Map;
 @Tool(
         command = "shard",
         name = "分片计算(哈希取余)",
-        description = "根据订单号获取hashcode，分片数取余，计算分片位置",
-        parameters = {"orderId:订单号", "shards:分片数量(可选,默认10)"}
+        description = "根据订单号计算哈希值，按分片策略计算分片位置",
+        parameters = {"orderId:订单号", "shards:分片数量(可选,默认10)",
+                "strategy:分片策略mod/jump/ring(可选,默认mod)",
+                "hash:哈希函数java/crc32/murmur3/xxhash64(可选,默认java即String.hashCode)", "vnodes:ring策略每个分片的虚拟节点数(可选,默认160,与分片数之积最多262144)",
+                "infile:订单号文件,每行一个(可选,提供时统计各分片的分布)", "threads:统计线程数(可选,默认CPU核数)"},
+        pure = true, uncachedParameters = {"infile"}
 )
 public class ShardingTool {
 
     private static final int DEFAULT_SHARD_COUNT = 10;
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    private static final int HISTOGRAM_WIDTH = 50;
+
+    /**
+     * 分片数超过该值时直方图只显示最少和最多的若干个分片
+     */
+    private static final int MAX_HISTOGRAM_ROWS = 100;
+    private static final int HISTOGRAM_EDGE_ROWS = 10;
 
     @ToolMethod
-    public String execute(Map<String, String> parameters) {
+    public String execute(Map<String, String> parameters) throws IOException {
         String orderId = parameters.get("orderId");
-        if (orderId == null || orderId.isEmpty()) {
-            return "错误: 必须提供订单号";
+        String infile = parameters.get("infile");
+        if ((orderId == null || orderId.isEmpty()) && (infile == null || infile.isEmpty())) {
+            return "错误: 必须提供订单号或订单号文件";
         }
 
-        int shards = DEFAULT_SHARD_COUNT;
-        if (parameters.containsKey("shards")) {
-            try {
-                shards = Integer.parseInt(parameters.get("shards"));
-            } catch (NumberFormatException e) {
-                // 使用默认值
-            }
+        ShardStrategy strategy;
+        KeyHash keyHash;
+        try {
+            strategy = strategy(parameters);
+            keyHash = KeyHashes.of(parameters.get("hash"));
+        } catch (IllegalArgumentException e) {
+            return "错误: " + e.getMessage();
+        }
+        if (infile != null && !infile.isEmpty()) {
+            int threads = Math.max(1, parseInt(parameters.get("threads"), Runtime.getRuntime().availableProcessors()));
+            return analyze(infile, strategy, keyHash, threads);
         }
 
-        int shard = calculateShard(orderId, shards);
+        int shard = strategy.shard(keyHash.hash(orderId));
         return "订单 '" + orderId + "' 应分到片: " + shard;
     }
 
-    private int calculateShard(String orderId, int shardCount) {
-        return Math.abs(orderId.hashCode()) % shardCount;
+    /**
+     * 并行统计文件中订单号的分片分布，每个线程使用自己的计数数组，结束后合并
+     * 计数数组最后一个元素记录跳过的空行
+     */
+    private static String analyze(String infile, ShardStrategy strategy, KeyHash keyHash, int threads) throws IOException {
+        int shards = strategy.shardCount();
+        long start = System.nanoTime();
+        List<long[]> partials;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                Files.newInputStream(Paths.get(infile)), StandardCharsets.UTF_8), IO_BUFFER_SIZE)) {
+            partials = new ParallelLineProcessor(threads).consume(reader, () -> new long[shards + 1],
+                    (counts, line) -> {
+                        String orderId = line.trim();
+                        counts[orderId.isEmpty() ? shards : strategy.shard(keyHash.hash(orderId))]++;
+                    });
+        }
+        long[] counts = new long[shards + 1];
+        for (long[] partial : partials) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += partial[i];
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return distributionReport(counts, shards, strategy.name() + ", 哈希: " + keyHash.name(), threads, seconds);
+    }
+
+    private static String distributionReport(long[] counts, int shards, String strategy, int threads, double seconds) {
+        long total = 0;
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        for (int i = 0; i < shards; i++) {
+            total += counts[i];
+            min = Math.min(min, counts[i]);
+            max = Math.max(max, counts[i]);
+        }
+        double mean = (double) total / shards;
+        double variance = 0;
+        for (int i = 0; i < shards; i++) {
+            variance += (counts[i] - mean) * (counts[i] - mean);
+        }
+        double stddev = Math.sqrt(variance / shards);
+
+        StringBuilder result = new StringBuilder();
+        result.append("策略: ").append(strategy).append(", 分片数: ").append(shards)
+                .append(", 订单号: ").append(total).append(", 跳过空行: ").append(counts[shards])
+                .append(String.format("\n最少: %d, 最多: %d, 平均: %.1f, 标准差: %.1f (%.2f%%), 最多/平均: %.3f",
+                        min, max, mean, stddev, mean > 0 ? 100 * stddev / mean : 0, mean > 0 ? max / mean : 0))
+                .append(String.format("\n线程: %d, 耗时: %.3f 秒, 速度: %.0f 个/秒", threads, seconds,
+                        seconds > 0 ? total / seconds : 0));
+
+        if (shards <= MAX_HISTOGRAM_ROWS) {
+            for (int i = 0; i < shards; i++) {
+                appendHistogramRow(result, i, counts[i], total, max);
+            }
+        } else {
+            // 分片太多时只显示最少和最多的分片
+            Integer[] order = new Integer[shards];
+            for (int i = 0; i < shards; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(counts[a], counts[b]));
+            result.append("\n最少的 ").append(HISTOGRAM_EDGE_ROWS).append(" 个分片:");
+            for (int i = 0; i < HISTOGRAM_EDGE_ROWS; i++) {
+                appendHistogramRow(result, order[i], counts[order[i]], total, max);
+            }
+            result.append("\n最多的 ").append(HISTOGRAM_EDGE_ROWS).append(" 个分片:");
+            for (int i = shards - HISTOGRAM_EDGE_ROWS; i < shards; i++) {
+                appendHistogramRow(result, order[i], counts[order[i]], total, max);
+            }
+        }
+        return result.toString();
+    }
+
+    private static void appendHistogramRow(StringBuilder result, int shard, long count, long total, long max) {
+        int width = max > 0 ? (int) (count * HISTOGRAM_WIDTH / max) : 0;
+        result.append(String.format("\n片 %4d: %10d (%6.2f%%) ", shard, count, total > 0 ? 100.0 * count / total : 0));
+        for (int i = 0; i < width; i++) {
+            result.append('#');
+        }
+    }
+
+    /**
+     * 根据shards、strategy、vnodes参数创建分片策略
+     * @throws IllegalArgumentException 参数不合法
+     */
+    static ShardStrategy strategy(Map<String, String> parameters) {
+        int shards = parseInt(parameters.get("shards"), DEFAULT_SHARD_COUNT);
+        int vnodes = parseInt(parameters.get("vnodes"), ShardStrategy.DEFAULT_VNODES);
+        return ShardStrategy.of(parameters.get("strategy"), shards, vnodes);
+    }
+
+    static int parseInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            // 使用默认值
+            return defaultValue;
+        }
     }
 }
@@ -0,0 +1,64 @@
+package org.example.tools;
+
+import org.example.annotation.Tool;
+import org.example.annotation.ToolMethod;
+import org.example.core.ToolMetrics;
+import org.example.core.ToolRegistry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+/**
+ * 本进程中各工具的运行指标，常驻服务模式下通过--remote stats查看服务端的统计
+ * Created on 2025/10/17
+ */
+@Tool(
+        command = "stats",
+        name = "运行统计",
+        description = "查看各命令的调用数、错误数、执行中数量和延迟分位数，或导出为Prometheus文本格式",
+        parameters = {"format:text表格/prometheus(可选,默认text)",
+                "outfile:写入文件(可选,供node_exporter textfile等采集,原子替换)",
+                "reset:true时读取后清零(可选,默认false)"}
+)
+public class StatsTool {
+
+    @ToolMethod
+    public static String execute(Map<String, String> parameters) throws IOException {
+        boolean prometheus = "prometheus".equalsIgnoreCase(parameters.get("format"));
+        Map<String, ToolMetrics.Snapshot> snapshots = ToolRegistry.getMetrics();
+        String text = prometheus
+                ? ToolMetrics.formatPrometheus(snapshots, ToolRegistry.getCacheStats())
+                : ToolMetrics.formatTable(snapshots) + "结果缓存: " + ToolRegistry.getCacheStats();
+        if ("true".equalsIgnoreCase(parameters.get("reset"))) {
+            ToolRegistry.resetMetrics();
+        }
+
+        String outfile = parameters.get("outfile");
+        if (outfile != null && !outfile.isEmpty()) {
+            writeAtomically(Paths.get(outfile), text);
+            return "已写入: " + outfile;
+        }
+        return text;
+    }
+
+    /**
+     * 先写临时文件再替换，采集方不会读到写了一半的文件
+     */
+    public static void writeAtomically(Path target, String text) throws IOException {
+        Path absolute = target.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        Files.write(temp, text.getBytes(StandardCharsets.UTF_8));
+        try {
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // 文件系统不支持原子移动时退回普通替换
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -2,12 +2,34 @@ package org.example.tools;
 
 import org.example.annotation.Tool;
 import org.example.annotation.ToolMethod;
+import org.example.core.ParallelLineProcessor;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.DateTimeException;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Created on 2025/08/26
@@ -16,7 +38,13 @@ import java.util.Map;
         command = "timestamp",
         name = "时间戳日期互转",
         description = "时间戳日期互转",
-        parameters = {"date:日期(yyyy-MM-dd HH:mm:ss)默认当前时间", "timestamp:毫秒时间戳"}
+        parameters = {"date:日期(yyyy-MM-dd HH:mm:ss)默认当前时间", "timestamp:时间戳",
+                "unit:时间戳单位auto/s/ms/us/ns(可选,默认auto按大小识别;日期转时间戳时默认ms)",
+                "infile:输入文件(批量转换一列,需同时提供outfile)", "outfile:输出文件",
+                "column:要转换的列,从1开始(与regex二选一)", "delimiter:列分隔符(可选,默认逗号,tab表示制表符)",
+                "regex:匹配要转换的值的正则(与column二选一)", "direction:toDate时间戳转日期/toTimestamp日期转时间戳(可选,默认toDate)",
+                "zone:时区,如Asia/Shanghai、UTC、+08:00(可选,默认系统时区)", "threads:线程数(可选,默认CPU核数)"},
+        pure = true, uncachedParameters = {"infile", "outfile"}, cacheRequires = {"timestamp", "date"}
 )
 public class TimestampTool {
 
@@ -24,14 +52,43 @@ public class TimestampTool {
     private static final DateTimeFormatter FORMATTER =
             DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+    /**
+     * 单值转换共用的格式化器，每个时区一个，保留按分钟缓存的前缀和偏移区间；
+     * FastFormatter不是线程安全的，使用时锁住（服务端请求在虚拟线程上执行，ThreadLocal无法复用）
+     */
+    private static final ConcurrentMap<ZoneId, FastFormatter> SHARED_FORMATTERS = new ConcurrentHashMap<>();
+
+    /**
+     * 批量转换的读写缓冲区大小
+     */
+    private static final int IO_BUFFER_SIZE = 1 << 20;
+
     @ToolMethod
-    public String execute(Map<String, String> parameters) {
+    public String execute(Map<String, String> parameters) throws IOException {
         String date = parameters.get("date");
         String timestamp = parameters.get("timestamp");
-        if (timestamp != null && !timestamp.isEmpty()) {
-            return timestampToDate(timestamp);
+        String infile = parameters.get("infile");
+        String zoneParam = parameters.get("zone");
+        ZoneId zone;
+        try {
+            zone = zoneParam == null || zoneParam.isEmpty() ? ZoneId.systemDefault() : ZoneId.of(zoneParam.trim());
+        } catch (DateTimeException e) {
+            return "错误: 无效的时区: " + zoneParam;
+        }
+        if (infile != null && !infile.isEmpty()) {
+            return convertFile(infile, parameters, zone);
+        } else if (timestamp != null && !timestamp.isEmpty()) {
+            try {
+                return timestampToDate(timestamp, parameters.get("unit"), zone);
+            } catch (IllegalArgumentException e) {
+                return "错误: " + e.getMessage();
+            }
         } else {
-            return dateToTimestamp(date);
+            try {
+                return dateToTimestamp(date, parameters.get("unit"), zone);
+            } catch (IllegalArgumentException e) {
+                return "错误: " + e.getMessage();
+            }
         }
     }
 
@@ -43,37 +100,525 @@ public class TimestampTool {
      * @throws DateTimeParseException 如果日期格式不正确
      */
     public static String dateToTimestamp(String dateString) throws DateTimeParseException {
+        return dateToTimestamp(dateString, "ms");
+    }
+
+    /**
+     * 将日期字符串转换为指定单位的时间戳字符串
+     * @param unit 输出单位s/ms/us/ns，auto或空时为毫秒
+     * @throws DateTimeParseException 如果日期格式不正确
+     */
+    public static String dateToTimestamp(String dateString, String unit) throws DateTimeParseException {
+        return dateToTimestamp(dateString, unit, ZoneId.systemDefault());
+    }
+
+    /**
+     * 将指定时区的日期字符串转换为指定单位的时间戳字符串
+     * @param unit 输出单位s/ms/us/ns，auto或空时为毫秒
+     * @param zone 日期所在的时区，日期为空时取该时区的当前时间
+     * @throws DateTimeParseException 如果日期格式不正确
+     */
+    public static String dateToTimestamp(String dateString, String unit, ZoneId zone) throws DateTimeParseException {
         LocalDateTime dateTime;
         if (dateString == null || dateString.isEmpty()) {
-            dateTime = LocalDateTime.now();
+            dateTime = LocalDateTime.now(zone);
         } else {
             // 解析日期字符串
             dateTime = LocalDateTime.parse(dateString, FORMATTER);
         }
         // 转换为毫秒时间戳
-        long timestamp = dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long timestamp = dateTime.atZone(zone).toInstant().toEpochMilli();
+        if (unit != null && !unit.isEmpty() && !"auto".equalsIgnoreCase(unit)) {
+            long unitsPerSecond = unitsPerSecond(unit, 0);
+            try {
+                timestamp = unitsPerSecond < 1_000 ? Math.floorDiv(timestamp, 1_000 / unitsPerSecond)
+                        : Math.multiplyExact(timestamp, unitsPerSecond / 1_000);
+            } catch (ArithmeticException e) {
+                return "错误: 日期超出" + unitName(unitsPerSecond) + "时间戳可表示的范围";
+            }
+        }
 
         // 返回字符串形式的毫秒时间戳
         return dateTime.format(FORMATTER) + "\n" + timestamp;
     }
 
     /**
-     * 将毫秒时间戳字符串转换为日期字符串
-     * @param timestampString 毫秒时间戳字符串
+     * 将时间戳字符串转换为日期字符串，按数值大小自动识别秒、毫秒、微秒、纳秒
+     * @param timestampString 时间戳字符串
      * @return 日期字符串，格式为"yyyy-MM-dd HH:mm:ss"
      * @throws NumberFormatException 如果时间戳格式不正确
      */
     public static String timestampToDate(String timestampString) throws NumberFormatException {
+        return timestampToDate(timestampString, "auto");
+    }
+
+    /**
+     * 将时间戳字符串转换为日期字符串
+     * @param unit 时间戳单位s/ms/us/ns，auto或空表示按数值大小自动识别
+     * @throws NumberFormatException 如果时间戳格式不正确
+     */
+    public static String timestampToDate(String timestampString, String unit) throws NumberFormatException {
+        return timestampToDate(timestampString, unit, ZoneId.systemDefault());
+    }
+
+    /**
+     * 将时间戳字符串转换为指定时区的日期字符串
+     * @param unit 时间戳单位s/ms/us/ns，auto或空表示按数值大小自动识别
+     * @throws NumberFormatException 如果时间戳格式不正确
+     */
+    public static String timestampToDate(String timestampString, String unit, ZoneId zone) throws NumberFormatException {
         // 解析时间戳字符串为long类型
-        long timestamp = Long.parseLong(timestampString);
+        long timestamp = Long.parseLong(timestampString.trim());
+        long unitsPerSecond = unitsPerSecond(unit, timestamp);
+        long epochSecond = Math.floorDiv(timestamp, unitsPerSecond);
 
-        // 转换为LocalDateTime
-        LocalDateTime dateTime = LocalDateTime.ofInstant(
-                java.time.Instant.ofEpochMilli(timestamp),
-                ZoneId.systemDefault()
-        );
+        FastFormatter formatter = SHARED_FORMATTERS.computeIfAbsent(zone, FastFormatter::new);
+        String date;
+        try {
+            synchronized (formatter) {
+                date = formatter.format(epochSecond);
+            }
+        } catch (DateTimeException e) {
+            // 年份超出0000-9999时使用标准格式化
+            date = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), zone).format(FORMATTER);
+        }
 
         // 格式化为日期字符串
-        return dateTime.format(FORMATTER) + "\n" + timestamp;
+        return date + "\n" + timestamp + (unit == null || unit.isEmpty() || "auto".equalsIgnoreCase(unit)
+                ? " (" + unitName(unitsPerSecond) + ")" : "");
+    }
+
+    /**
+     * 时间戳单位对应的每秒单位数
+     * @param unit s/ms/us/ns，auto或空表示按数值大小识别：
+     *             绝对值小于1e11为秒（可表示到5138年），小于1e14为毫秒，小于1e17为微秒，否则为纳秒
+     * @throws IllegalArgumentException 未知的单位
+     */
+    public static long unitsPerSecond(String unit, long value) {
+        if (unit == null || unit.isEmpty() || "auto".equalsIgnoreCase(unit)) {
+            if (value > -100_000_000_000L && value < 100_000_000_000L) {
+                return 1;
+            } else if (value > -100_000_000_000_000L && value < 100_000_000_000_000L) {
+                return 1_000;
+            } else if (value > -100_000_000_000_000_000L && value < 100_000_000_000_000_000L) {
+                return 1_000_000;
+            }
+            return 1_000_000_000;
+        }
+        switch (unit.trim().toLowerCase()) {
+            case "s":
+                return 1;
+            case "ms":
+                return 1_000;
+            case "us":
+                return 1_000_000;
+            case "ns":
+                return 1_000_000_000;
+            default:
+                throw new IllegalArgumentException("未知的时间戳单位: " + unit + " (可选: auto, s, ms, us, ns)");
+        }
+    }
+
+    private static String unitName(long unitsPerSecond) {
+        return unitsPerSecond == 1 ? "秒" : unitsPerSecond == 1_000 ? "毫秒" : unitsPerSecond == 1_000_000 ? "微秒" : "纳秒";
+    }
+
+    /**
+     * 批量转换文件中的一列（或正则匹配到的值），多线程处理并按输入顺序写出
+     * 无法转换的值（如表头）保持原样
+     */
+    private static String convertFile(String infile, Map<String, String> parameters, ZoneId zone) throws IOException {
+        String outfile = parameters.get("outfile");
+        if (outfile == null || outfile.isEmpty()) {
+            return "错误: 批量转换必须提供输出文件";
+        }
+        String column = parameters.get("column");
+        String regex = parameters.get("regex");
+        if ((column == null || column.isEmpty()) == (regex == null || regex.isEmpty())) {
+            return "错误: 必须提供column或regex中的一个";
+        }
+        boolean toDate = !"toTimestamp".equalsIgnoreCase(parameters.get("direction"));
+        String unit = parameters.get("unit");
+        try {
+            unitsPerSecond(unit, 0);
+        } catch (IllegalArgumentException e) {
+            return "错误: " + e.getMessage();
+        }
+        int threads = Math.max(1, ShardingTool.parseInt(parameters.get("threads"),
+                Runtime.getRuntime().availableProcessors()));
+
+        ValueConverter converter = new ValueConverter(zone, toDate, unit);
+        Function<String, String> lineConverter;
+        if (column != null && !column.isEmpty()) {
+            int index = ShardingTool.parseInt(column, 0);
+            if (index <= 0) {
+                return "错误: 列必须是从1开始的数字: " + column;
+            }
+            String delimiter = parameters.get("delimiter");
+            delimiter = delimiter == null || delimiter.isEmpty() ? ","
+                    : "tab".equalsIgnoreCase(delimiter) || "\\t".equals(delimiter) ? "\t" : delimiter;
+            lineConverter = new ColumnConverter(converter, index - 1, delimiter);
+        } else {
+            try {
+                lineConverter = new RegexConverter(converter, Pattern.compile(regex));
+            } catch (PatternSyntaxException e) {
+                return "错误: 无效的正则: " + e.getDescription();
+            }
+        }
+
+        long start = System.nanoTime();
+        long lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                Files.newInputStream(Paths.get(infile)), StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                     Files.newOutputStream(Paths.get(outfile)), StandardCharsets.UTF_8), IO_BUFFER_SIZE)) {
+            lines = new ParallelLineProcessor(threads).process(reader, writer, lineConverter);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return String.format("转换完成: %s -> %s\n方向: %s, 时区: %s\n行: %d, 已转换: %d, 保持原样: %d\n线程: %d, 耗时: %.3f 秒, 速度: %.0f 行/秒",
+                infile, outfile, toDate ? "时间戳转日期" : "日期转时间戳", zone, lines, converter.converted.sum(),
+                converter.skipped.sum(), threads, seconds, seconds > 0 ? lines / seconds : 0);
+    }
+
+    /**
+     * 单个值的转换，时区规则只解析一次，每个线程使用自己的FastFormatter
+     */
+    private static final class ValueConverter {
+        private final ThreadLocal<FastFormatter> formatters;
+        private final ThreadLocal<char[]> buffers = ThreadLocal.withInitial(() -> new char[FastFormatter.LENGTH]);
+        private final boolean toDate;
+        private final String unit;
+        private final long outputUnitsPerSecond;
+        final LongAdder converted = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+
+        ValueConverter(ZoneId zone, boolean toDate, String unit) {
+            ZoneRules rules = zone.getRules();
+            this.formatters = ThreadLocal.withInitial(() -> new FastFormatter(rules));
+            this.toDate = toDate;
+            this.unit = unit;
+            // 日期转时间戳时auto按毫秒输出
+            this.outputUnitsPerSecond = unit == null || unit.isEmpty() || "auto".equalsIgnoreCase(unit)
+                    ? 1_000 : unitsPerSecond(unit, 0);
+        }
+
+        /**
+         * 转换text[start, end)并追加到out
+         * @return 无法转换时返回false，此时out不变
+         */
+        boolean convert(CharSequence text, int start, int end, StringBuilder out) {
+            while (start < end && text.charAt(start) == ' ') {
+                start++;
+            }
+            while (end > start && text.charAt(end - 1) == ' ') {
+                end--;
+            }
+            try {
+                if (toDate) {
+                    long value = parseLong(text, start, end);
+                    char[] buffer = buffers.get();
+                    formatters.get().format(Math.floorDiv(value, unitsPerSecond(unit, value)), buffer, 0);
+                    out.append(buffer, 0, FastFormatter.LENGTH);
+                } else {
+                    out.append(Math.multiplyExact(formatters.get().parse(text, start, end), outputUnitsPerSecond));
+                }
+            } catch (NumberFormatException | DateTimeException | ArithmeticException e) {
+                // 溢出：数值超出long，或日期超出该单位的long可表示范围（如纳秒只能表示1677至2262年）
+                skipped.increment();
+                return false;
+            }
+            converted.increment();
+            return true;
+        }
+
+        /**
+         * 直接从字符解析十进制整数，不创建子串
+         * 按负数累加，Long.MIN_VALUE也能解析；超出long范围时抛出ArithmeticException
+         */
+        private static long parseLong(CharSequence text, int start, int end) {
+            boolean negative = start < end && text.charAt(start) == '-';
+            int i = negative ? start + 1 : start;
+            if (i == end || end - i > 19) {
+                throw new NumberFormatException("不是时间戳");
+            }
+            long value = 0;
+            for (; i < end; i++) {
+                int digit = text.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new NumberFormatException("不是时间戳");
+                }
+                value = Math.subtractExact(Math.multiplyExact(value, 10), digit);
+            }
+            return negative ? value : Math.negateExact(value);
+        }
+    }
+
+    /**
+     * 转换指定列
+     */
+    private static final class ColumnConverter implements Function<String, String> {
+        private final ValueConverter converter;
+        private final int column;
+        private final String delimiter;
+
+        ColumnConverter(ValueConverter converter, int column, String delimiter) {
+            this.converter = converter;
+            this.column = column;
+            this.delimiter = delimiter;
+        }
+
+        @Override
+        public String apply(String line) {
+            int start = 0;
+            for (int i = 0; i < column; i++) {
+                int next = line.indexOf(delimiter, start);
+                if (next < 0) {
+                    return line;
+                }
+                start = next + delimiter.length();
+            }
+            int end = line.indexOf(delimiter, start);
+            if (end < 0) {
+                end = line.length();
+            }
+            StringBuilder result = new StringBuilder(line.length() + 8).append(line, 0, start);
+            if (!converter.convert(line, start, end, result)) {
+                return line;
+            }
+            return result.append(line, end, line.length()).toString();
+        }
+    }
+
+    /**
+     * 转换正则匹配到的每个值（有捕获组时只替换第一个捕获组）
+     */
+    private static final class RegexConverter implements Function<String, String> {
+        private final ValueConverter converter;
+        private final Pattern pattern;
+
+        RegexConverter(ValueConverter converter, Pattern pattern) {
+            this.converter = converter;
+            this.pattern = pattern;
+        }
+
+        @Override
+        public String apply(String line) {
+            Matcher matcher = pattern.matcher(line);
+            StringBuilder result = null;
+            int last = 0;
+            while (matcher.find()) {
+                int group = matcher.groupCount() > 0 && matcher.start(1) >= 0 ? 1 : 0;
+                if (result == null) {
+                    result = new StringBuilder(line.length() + 16);
+                }
+                int start = matcher.start(group);
+                result.append(line, last, start);
+                // 无法转换时该值留待后面原样追加
+                last = converter.convert(line, start, matcher.end(group), result) ? matcher.end(group) : start;
+            }
+            return result == null ? line : result.append(line, last, line.length()).toString();
+        }
+    }
+
+    /**
+     * 高吞吐的"yyyy-MM-dd HH:mm:ss"格式化与解析，直接读写char[]，稳定后不分配对象
+     * <ul>
+     *     <li>缓存当前一分钟的"yyyy-MM-dd HH:mm"前缀，同一分钟内的时间只写入秒的两位数字</li>
+     *     <li>缓存时区偏移及其有效区间（到上一个/下一个夏令时切换点），区间内不再查询时区规则</li>
+     *     <li>年月日由epoch天数直接换算，不创建LocalDateTime</li>
+     * </ul>
+     * 只支持0000-9999年，超出时抛出DateTimeException。有缓存状态，非线程安全，每个线程使用自己的实例
+     */
+    public static final class FastFormatter {
+
+        public static final int LENGTH = 19;
+        private static final int PREFIX_LENGTH = 16;
+        private static final long MIN_LOCAL_SECOND = -62167219200L;
+        private static final long MAX_LOCAL_SECOND = 253402300799L;
+        private static final long SECONDS_PER_DAY = 86400;
+
+        private final ZoneRules rules;
+        private final char[] prefix = new char[PREFIX_LENGTH];
+        private final char[] buffer = new char[LENGTH];
+
+        /**
+         * 前缀对应的本地分钟起点（UTC秒）及前缀有效的UTC秒区间[minuteFrom, minuteTo)
+         */
+        private long minuteStart;
+        private long minuteFrom = 1;
+        private long minuteTo = 0;
+
+        /**
+         * 偏移秒数及其有效的UTC秒区间[offsetFrom, offsetTo)
+         */
+        private int offsetSeconds;
+        private long offsetFrom = 1;
+        private long offsetTo = 0;
+
+        public FastFormatter(ZoneId zone) {
+            this(zone.getRules());
+        }
+
+        public FastFormatter(ZoneRules rules) {
+            this.rules = rules;
+            if (rules.isFixedOffset()) {
+                offsetSeconds = rules.getOffset(Instant.EPOCH).getTotalSeconds();
+                offsetFrom = Long.MIN_VALUE;
+                offsetTo = Long.MAX_VALUE;
+            }
+        }
+
+        /**
+         * 格式化为新字符串
+         */
+        public String format(long epochSecond) {
+            format(epochSecond, buffer, 0);
+            return new String(buffer);
+        }
+
+        /**
+         * 写入dst[offset, offset + LENGTH)
+         * @return 写入的字符数，总是LENGTH
+         * @throws DateTimeException 年份超出0000-9999
+         */
+        public int format(long epochSecond, char[] dst, int offset) {
+            if (epochSecond < minuteFrom || epochSecond >= minuteTo) {
+                refreshMinute(epochSecond);
+            }
+            System.arraycopy(prefix, 0, dst, offset, PREFIX_LENGTH);
+            int second = (int) (epochSecond - minuteStart);
+            dst[offset + 16] = ':';
+            dst[offset + 17] = (char) ('0' + second / 10);
+            dst[offset + 18] = (char) ('0' + second % 10);
+            return LENGTH;
+        }
+
+        /**
+         * 解析text[start, end)中的"yyyy-MM-dd HH:mm:ss"
+         * @return epoch秒；夏令时重叠时取较早的偏移，跳过的时间向后顺延（与LocalDateTime.atZone相同）
+         * @throws DateTimeException 格式或数值不合法
+         */
+        public long parse(CharSequence text, int start, int end) {
+            if (end - start != LENGTH || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-'
+                    || text.charAt(start + 10) != ' ' || text.charAt(start + 13) != ':' || text.charAt(start + 16) != ':') {
+                throw new DateTimeException("日期格式应为yyyy-MM-dd HH:mm:ss");
+            }
+            int year = digits(text, start, 4);
+            int month = digits(text, start + 5, 2);
+            int day = digits(text, start + 8, 2);
+            int hour = digits(text, start + 11, 2);
+            int minute = digits(text, start + 14, 2);
+            int second = digits(text, start + 17, 2);
+            if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                    || hour > 23 || minute > 59 || second > 59) {
+                throw new DateTimeException("日期数值不合法");
+            }
+            long local = daysFromCivil(year, month, day) * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second;
+
+            long guess = local - offsetSeconds;
+            // 离切换点一天以上时缓存的偏移必然适用，否则按时区规则处理重叠和间隙
+            if (guess - SECONDS_PER_DAY >= offsetFrom && guess + SECONDS_PER_DAY < offsetTo) {
+                return guess;
+            }
+            LocalDateTime dateTime = LocalDateTime.of(year, month, day, hour, minute, second);
+            List<ZoneOffset> offsets = rules.getValidOffsets(dateTime);
+            long epochSecond;
+            if (!offsets.isEmpty()) {
+                epochSecond = dateTime.toEpochSecond(offsets.get(0));
+            } else {
+                ZoneOffsetTransition gap = rules.getTransition(dateTime);
+                epochSecond = dateTime.plusSeconds(gap.getDuration().getSeconds()).toEpochSecond(gap.getOffsetAfter());
+            }
+            refreshOffset(epochSecond);
+            return epochSecond;
+        }
+
+        private void refreshMinute(long epochSecond) {
+            if (epochSecond < offsetFrom || epochSecond >= offsetTo) {
+                refreshOffset(epochSecond);
+            }
+            long local = epochSecond + offsetSeconds;
+            if (local < MIN_LOCAL_SECOND || local > MAX_LOCAL_SECOND) {
+                throw new DateTimeException("年份超出0000-9999: " + epochSecond);
+            }
+            long localMinute = Math.floorDiv(local, 60) * 60;
+            minuteStart = localMinute - offsetSeconds;
+            minuteFrom = Math.max(minuteStart, offsetFrom);
+            minuteTo = Math.min(minuteStart + 60, offsetTo);
+            writePrefix(localMinute);
+        }
+
+        private void refreshOffset(long epochSecond) {
+            Instant instant = Instant.ofEpochSecond(epochSecond);
+            offsetSeconds = rules.getOffset(instant).getTotalSeconds();
+            ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+            offsetFrom = previous == null ? Long.MIN_VALUE : previous.toEpochSecond();
+            offsetTo = next == null ? Long.MAX_VALUE : next.toEpochSecond();
+        }
+
+        private void writePrefix(long localMinute) {
+            long days = Math.floorDiv(localMinute, SECONDS_PER_DAY);
+            int secondOfDay = (int) (localMinute - days * SECONDS_PER_DAY);
+
+            // 由epoch天数计算年月日（Howard Hinnant的civil_from_days算法）
+            long z = days + 719468;
+            long era = Math.floorDiv(z, 146097);
+            long dayOfEra = z - era * 146097;
+            long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+            long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+            long mp = (5 * dayOfYear + 2) / 153;
+            int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+            int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+            int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+            writeDigits(year, 0, 4);
+            prefix[4] = '-';
+            writeDigits(month, 5, 2);
+            prefix[7] = '-';
+            writeDigits(day, 8, 2);
+            prefix[10] = ' ';
+            writeDigits(secondOfDay / 3600, 11, 2);
+            prefix[13] = ':';
+            writeDigits(secondOfDay / 60 % 60, 14, 2);
+        }
+
+        private void writeDigits(int value, int offset, int count) {
+            for (int i = offset + count - 1; i >= offset; i--) {
+                prefix[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+
+        private static int digits(CharSequence text, int offset, int count) {
+            int value = 0;
+            for (int i = offset; i < offset + count; i++) {
+                int digit = text.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new DateTimeException("日期中有非数字字符");
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
+        private static int lengthOfMonth(int year, int month) {
+            if (month == 2) {
+                return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            }
+            return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+        }
+
+        /**
+         * 年月日到epoch天数（Howard Hinnant的days_from_civil算法）
+         */
+        private static long daysFromCivil(int year, int month, int day) {
+            long y = month <= 2 ? year - 1 : year;
+            long era = Math.floorDiv(y, 400);
+            long yearOfEra = y - era * 400;
+            long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+            long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+            return era * 146097 + dayOfEra - 719468;
+        }
     }
 }
@@ -0,0 +1,292 @@
+package org.example.tools;
+
+import org.example.annotation.Tool;
+import org.example.annotation.ToolMethod;
+import org.example.core.Codec;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 分块树哈希：把大文件切成固定大小的块，多线程并行计算块哈希，再合并为根哈希
+ * <p>
+ * 格式（可复现）：
+ * <ul>
+ *     <li>文件按chunkSize切块，最后一块可能较短；空文件视为一个长度为0的块</li>
+ *     <li>叶子 = H(0x00 || 块内容)</li>
+ *     <li>内部节点 = H(0x01 || 左子节点 || 右子节点)，逐层两两合并，某层为奇数个时最后一个节点直接进入上一层</li>
+ *     <li>只有一个块时根哈希就是该叶子</li>
+ * </ul>
+ * 根哈希只在算法和块大小都相同时可比较，因此输出中总是带上这两个参数。
+ * Created on 2025/10/17
+ */
+@Tool(
+        command = "treehash",
+        name = "大文件分块树哈希",
+        description = "多线程并行计算大文件的分块树哈希，可输出每块哈希用于定位损坏位置",
+        parameters = {"file:文件路径", "algorithm:算法(可选,默认SHA-256)",
+                "chunkSize:块大小(可选,默认4M,支持K/M/G后缀)", "chunks:把每块哈希写入该文件(可选)",
+                "compare:与之前输出的块哈希文件比较,列出不一致的块(可选)", "threads:线程数(可选,默认CPU核数)"}
+)
+public class TreeHashTool {
+
+    private static final String DEFAULT_ALGORITHM = "SHA-256";
+    private static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+    private static final String CHUNKS_HEADER = "# c-toolkit treehash";
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+
+    /**
+     * 每次映射的最大区域，多个块共用一次映射，减少映射数量
+     */
+    private static final long MAX_MAPPING_SIZE = 64L << 20;
+    private static final int MAX_REPORTED_CHUNKS = 200;
+
+    @ToolMethod
+    public static String execute(Map<String, String> parameters) throws IOException, NoSuchAlgorithmException {
+        String file = parameters.get("file");
+        if (file == null || file.isEmpty()) {
+            return "错误: 必须提供文件路径";
+        }
+        Path path = Paths.get(file);
+        String algorithm = parameters.get("algorithm");
+        algorithm = algorithm == null || algorithm.isEmpty() ? DEFAULT_ALGORITHM : algorithm.trim().toUpperCase();
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (parameters.containsKey("threads")) {
+            try {
+                threads = Math.max(1, Integer.parseInt(parameters.get("threads")));
+            } catch (NumberFormatException e) {
+                // 使用默认值
+            }
+        }
+
+        long start = System.nanoTime();
+        int chunkSize;
+        byte[][] leaves;
+        try {
+            chunkSize = parseSize(parameters.get("chunkSize"));
+            leaves = hashChunks(path, algorithm, chunkSize, threads);
+        } catch (IllegalArgumentException e) {
+            return "错误: " + e.getMessage();
+        }
+        byte[] root = root(leaves, algorithm);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        long size = Files.size(path);
+
+        StringBuilder result = new StringBuilder();
+        result.append("root: ").append(Codec.toHex(root))
+                .append("\n算法: ").append(algorithm).append(", 块大小: ").append(chunkSize)
+                .append(", 块数: ").append(leaves.length)
+                .append(String.format("\n大小: %d 字节, 线程: %d, 耗时: %.3f 秒, 速度: %.1f MB/s", size, threads,
+                        seconds, seconds > 0 ? size / (1024.0 * 1024.0) / seconds : 0));
+
+        String chunks = parameters.get("chunks");
+        if (chunks != null && !chunks.isEmpty()) {
+            writeChunks(Paths.get(chunks), algorithm, chunkSize, size, leaves);
+            result.append("\n块哈希已写入: ").append(chunks);
+        }
+        String compare = parameters.get("compare");
+        if (compare != null && !compare.isEmpty()) {
+            result.append('\n').append(compareChunks(Paths.get(compare), algorithm, chunkSize, leaves));
+        }
+        return result.toString();
+    }
+
+    /**
+     * 并行计算每个块的叶子哈希
+     * @return 按块顺序排列的叶子哈希
+     * @throws IllegalArgumentException 块大小不合法，或块数超出数组能容纳的范围
+     */
+    public static byte[][] hashChunks(Path path, String algorithm, int chunkSize, int threads)
+            throws IOException, NoSuchAlgorithmException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        MessageDigest.getInstance(algorithm);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunks = (size + chunkSize - 1) / chunkSize;
+            if (chunks > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("块数超出上限 " + Integer.MAX_VALUE + ": " + chunks + "，请增大块大小");
+            }
+            int chunkCount = (int) Math.max(1, chunks);
+            byte[][] leaves = new byte[chunkCount][];
+            if (size == 0) {
+                MessageDigest digest = MessageDigest.getInstance(algorithm);
+                digest.update(LEAF_PREFIX);
+                leaves[0] = digest.digest();
+                return leaves;
+            }
+
+            // 工作单元为若干个相邻块，映射一次后逐块计算
+            int chunksPerMapping = (int) Math.max(1, MAX_MAPPING_SIZE / chunkSize);
+            int unitCount = (chunkCount + chunksPerMapping - 1) / chunksPerMapping;
+            AtomicInteger nextUnit = new AtomicInteger();
+
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> workers = new ArrayList<>();
+                for (int i = 0; i < Math.min(threads, unitCount); i++) {
+                    workers.add(pool.submit(() -> {
+                        MessageDigest digest = MessageDigest.getInstance(algorithm);
+                        int unit;
+                        while ((unit = nextUnit.getAndIncrement()) < unitCount) {
+                            int firstChunk = unit * chunksPerMapping;
+                            int lastChunk = Math.min(chunkCount, firstChunk + chunksPerMapping);
+                            long offset = (long) firstChunk * chunkSize;
+                            long length = Math.min(size, (long) lastChunk * chunkSize) - offset;
+                            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                            for (int chunk = firstChunk; chunk < lastChunk; chunk++) {
+                                int position = (chunk - firstChunk) * chunkSize;
+                                mapping.limit((int) Math.min(length, (long) position + chunkSize));
+                                mapping.position(position);
+                                digest.update(LEAF_PREFIX);
+                                digest.update(mapping);
+                                leaves[chunk] = digest.digest();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("计算被中断", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+            return leaves;
+        }
+    }
+
+    /**
+     * 由叶子哈希逐层合并出根哈希
+     */
+    public static byte[] root(byte[][] leaves, String algorithm) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance(algorithm);
+        byte[][] level = leaves;
+        while (level.length > 1) {
+            byte[][] parent = new byte[(level.length + 1) / 2][];
+            for (int i = 0; i < level.length / 2; i++) {
+                digest.update(NODE_PREFIX);
+                digest.update(level[2 * i]);
+                digest.update(level[2 * i + 1]);
+                parent[i] = digest.digest();
+            }
+            if (level.length % 2 == 1) {
+                parent[parent.length - 1] = level[level.length - 1];
+            }
+            level = parent;
+        }
+        return level[0];
+    }
+
+    /**
+     * 块哈希文件格式：首行为参数，之后每行"序号\t偏移\t长度\t哈希"
+     */
+    private static void writeChunks(Path target, String algorithm, int chunkSize, long size, byte[][] leaves)
+            throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            writer.write(CHUNKS_HEADER + " algorithm=" + algorithm + " chunkSize=" + chunkSize + " size=" + size);
+            writer.newLine();
+            for (int i = 0; i < leaves.length; i++) {
+                long offset = (long) i * chunkSize;
+                long length = Math.min(chunkSize, size - offset);
+                writer.write(i + "\t" + offset + "\t" + length + "\t" + Codec.toHex(leaves[i]));
+                writer.newLine();
+            }
+        }
+    }
+
+    private static String compareChunks(Path previous, String algorithm, int chunkSize, byte[][] leaves)
+            throws IOException {
+        Map<Integer, String> expected = new HashMap<>();
+        String header = null;
+        try (BufferedReader reader = Files.newBufferedReader(previous, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(CHUNKS_HEADER)) {
+                    header = line;
+                    continue;
+                }
+                String[] fields = line.split("\t");
+                if (fields.length == 4) {
+                    expected.put(Integer.parseInt(fields[0]), fields[3]);
+                }
+            }
+        }
+        if (header == null || !header.contains(" algorithm=" + algorithm + " ")
+                || !header.contains(" chunkSize=" + chunkSize + " ")) {
+            return "错误: 比较文件的算法或块大小与本次不一致";
+        }
+
+        StringBuilder result = new StringBuilder();
+        int mismatched = 0;
+        for (int i = 0; i < Math.max(leaves.length, expected.size()); i++) {
+            String actual = i < leaves.length ? Codec.toHex(leaves[i]) : null;
+            String old = expected.get(i);
+            if (actual == null || !actual.equalsIgnoreCase(old)) {
+                if (mismatched++ < MAX_REPORTED_CHUNKS) {
+                    result.append("\n不一致: 块 ").append(i).append(", 偏移 ").append((long) i * chunkSize);
+                }
+            }
+        }
+        if (mismatched > MAX_REPORTED_CHUNKS) {
+            result.append("\n... 另有 ").append(mismatched - MAX_REPORTED_CHUNKS).append(" 个不一致的块");
+        }
+        return (mismatched == 0 ? "比较结果: 所有块一致" : "比较结果: " + mismatched + " 个块不一致") + result;
+    }
+
+    /**
+     * @throws IllegalArgumentException 不是数字（如abc），或超出1字节到2G
+     */
+    private static int parseSize(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return DEFAULT_CHUNK_SIZE;
+        }
+        String size = value.trim().toUpperCase();
+        long multiplier = 1;
+        char unit = size.charAt(size.length() - 1);
+        if (unit == 'K' || unit == 'M' || unit == 'G') {
+            multiplier = unit == 'K' ? 1L << 10 : unit == 'M' ? 1L << 20 : 1L << 30;
+            size = size.substring(0, size.length() - 1);
+        }
+        long bytes;
+        try {
+            bytes = Math.multiplyExact(Long.parseLong(size), multiplier);
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("无效的块大小: " + value);
+        }
+        if (bytes <= 0 || bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("块大小必须在1字节到2G之间: " + value);
+        }
+        return (int) bytes;
+    }
+}
@@ -2,21 +2,51 @@ package org.example.tools;
 
 import org.example.annotation.Tool;
 import org.example.annotation.ToolMethod;
+import org.example.core.Codec;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Created on 2025/08/21
  */
-@Tool(command = "unicode", name = "Unicode编码解码", description = "对输入字符串Unicode编解码", parameters = {"encode:加密", "decode:解码"})
+@Tool(command = "unicode", name = "Unicode编码解码", description = "对输入字符串或文件Unicode编解码",
+        parameters = {"encode:加密", "decode:解码", "infile:输入文件(流式处理,需同时提供outfile)", "outfile:输出文件",
+                "mode:文件模式encode/decode(可选,默认encode)"}, pure = true,
+        uncachedParameters = {"infile", "outfile"})
 public class UnicodeTool {
+
+    /**
+     * 文件流缓冲区大小（字符数）
+     */
+    private static final int STREAM_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * 最长的转义序列 \UXXXXXXXX 的长度，流式解码时缓冲区末尾最多残留这么多字符
+     */
+    private static final int MAX_ESCAPE_LENGTH = 10;
+
     @ToolMethod
-    public String execute(Map<String, String> parameters) {
+    public String execute(Map<String, String> parameters) throws IOException {
         String encode = parameters.get("encode");
         String decode = parameters.get("decode");
-        if (encode != null && !encode.isEmpty()) {
+        String infile = parameters.get("infile");
+        String outfile = parameters.get("outfile");
+        if (infile != null && !infile.isEmpty()) {
+            if (outfile == null || outfile.isEmpty()) {
+                return "错误: 文件模式必须提供输出文件";
+            }
+            boolean decodeMode = "decode".equalsIgnoreCase(parameters.get("mode"));
+            return transformFile(Paths.get(infile), Paths.get(outfile), decodeMode);
+        } else if (encode != null && !encode.isEmpty()) {
             return encodeUnicode(encode);
         } else if (decode != null && !decode.isEmpty()) {
             return decodeUnicode(decode);
@@ -29,33 +59,160 @@ public class UnicodeTool {
      * 将字符串编码为Unicode转义序列 * @param input 原始字符串 * @return Unicode编码后的字符串（格式：\u57fa）
      */
     public static String encodeUnicode(String input) {
-        StringBuilder sb = new StringBuilder();
-        for (char c : input.toCharArray()) {
-            // ASCII字符直接追加（0-127）
-            if (c <= 127) {
-                sb.append(c);
-            }
-            // 非ASCII字符转为Unicode转义序列
-            else {
-                sb.append("\\u").append(String.format("%04x", (int) c).toUpperCase());
+        StringBuilder sb = new StringBuilder(input.length() + 16);
+        encodeUnicode(input, 0, input.length(), sb);
+        return sb.toString();
+    }
+
+    /**
+     * 编码src[start, end)并追加到out：ASCII字符（0-127）原样保留，其余每个UTF-16单元转为\\uXXXX，
+     * 增补字符因此输出为一对代理项转义（如 \\uD83D\\uDE00），与JSON的写法一致
+     */
+    public static void encodeUnicode(CharSequence src, int start, int end, StringBuilder out) {
+        int run = start;
+        for (int i = start; i < end; i++) {
+            char c = src.charAt(i);
+            if (c > 127) {
+                out.append(src, run, i);
+                Codec.appendHexUpper(out.append('\\').append('u'), c, 4);
+                run = i + 1;
             }
         }
-        return sb.toString();
+        out.append(src, run, end);
     }
 
     /**
      * 将Unicode转义序列解码为原始字符串 * @param input Unicode编码字符串 * @return 解码后的原始字符串
      */
     public static String decodeUnicode(String input) {
-        Pattern pattern = Pattern.compile("\\\\u([0-9a-fA-F]{4})");
-        Matcher matcher = pattern.matcher(input);
-        StringBuffer sb = new StringBuffer();
-        while (matcher.find()) {
-            // 将十六进制代码点转为字符
-            char decodedChar = (char) Integer.parseInt(matcher.group(1), 16);
-            matcher.appendReplacement(sb, Character.toString(decodedChar));
-        }
-        matcher.appendTail(sb);
+        StringBuilder sb = new StringBuilder(input.length());
+        decodeUnicode(input, 0, input.length(), true, sb);
         return sb.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * 单次扫描解码src[start, end)并追加到out，支持的转义：
+     * <ul>
+     *     <li>\\uXXXX - 一个UTF-16单元，相邻的代理项转义自然组合为增补字符</li>
+     *     <li>\\UXXXXXXXX - 一个码点（如 \\U0001F600），超出Unicode范围时保持原样</li>
+     *     <li>\\xXX - 码点U+0000到U+00FF</li>
+     * </ul>
+     * 十六进制位数不足或其它反斜杠序列原样保留，\\\\ 视为转义的反斜杠，其后的u/U/x不再解码
+     * @param endOfInput 为false时，末尾可能被截断的转义序列不处理，由调用方与后续输入拼接后再解码
+     * @return 已处理到的位置，endOfInput为true时总是end
+     */
+    public static int decodeUnicode(CharSequence src, int start, int end, boolean endOfInput, StringBuilder out) {
+        int run = start;
+        int i = start;
+        while (i < end) {
+            if (src.charAt(i) != '\\') {
+                i++;
+                continue;
+            }
+            if (i + 1 >= end) {
+                if (!endOfInput) {
+                    break;
+                }
+                i++;
+                continue;
+            }
+            char type = src.charAt(i + 1);
+            int digits = type == 'u' ? 4 : type == 'U' ? 8 : type == 'x' ? 2 : 0;
+            if (digits == 0) {
+                i += 2;
+                continue;
+            }
+            if (i + 2 + digits > end && !endOfInput) {
+                break;
+            }
+            int value = parseHex(src, i + 2, Math.min(end, i + 2 + digits));
+            if (value < 0 || i + 2 + digits > end || (digits == 8 && !Character.isValidCodePoint(value))) {
+                // 不是合法的转义，反斜杠原样保留，从下一个字符继续
+                i++;
+                continue;
+            }
+            out.append(src, run, i);
+            if (digits == 8) {
+                out.appendCodePoint(value);
+            } else {
+                out.append((char) value);
+            }
+            i += 2 + digits;
+            run = i;
+        }
+        out.append(src, run, i);
+        return i;
+    }
+
+    /**
+     * 解析src[start, end)中的十六进制数，遇到非十六进制字符返回-1
+     */
+    private static int parseHex(CharSequence src, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Codec.hexValue(src.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+
+    /**
+     * 通过复用的字符数组写出，避免每块生成一个String
+     * @return 可能扩容后的字符数组
+     */
+    private static char[] write(BufferedWriter writer, StringBuilder out, char[] chars) throws IOException {
+        if (chars.length < out.length()) {
+            chars = new char[out.capacity()];
+        }
+        out.getChars(0, out.length(), chars, 0);
+        writer.write(chars, 0, out.length());
+        return chars;
+    }
+
+    /**
+     * 分块流式处理文件，解码时把缓冲区末尾未完整的转义序列移到下一块开头
+     */
+    private static String transformFile(Path input, Path output, boolean decode) throws IOException {
+        long start = System.nanoTime();
+        long chars = 0;
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            char[] buffer = new char[STREAM_BUFFER_SIZE + MAX_ESCAPE_LENGTH];
+            CharBuffer view = CharBuffer.wrap(buffer);
+            StringBuilder out = new StringBuilder(decode ? STREAM_BUFFER_SIZE : STREAM_BUFFER_SIZE * 2);
+            char[] outChars = new char[out.capacity()];
+            int carry = 0;
+            int n;
+            while ((n = reader.read(buffer, carry, STREAM_BUFFER_SIZE)) != -1) {
+                // 读取不响应中断，每块检查一次，异步执行被取消或超时时提前结束
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("处理被中断");
+                }
+                chars += n;
+                int length = carry + n;
+                out.setLength(0);
+                if (decode) {
+                    int consumed = decodeUnicode(view, 0, length, false, out);
+                    carry = length - consumed;
+                    System.arraycopy(buffer, consumed, buffer, 0, carry);
+                } else {
+                    encodeUnicode(view, 0, length, out);
+                }
+                outChars = write(writer, out, outChars);
+            }
+            if (carry > 0) {
+                out.setLength(0);
+                decodeUnicode(view, 0, carry, true, out);
+                write(writer, out, outChars);
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return String.format("%s完成: %s -> %s\n输入: %d 字符, 耗时: %.3f 秒, 速度: %.1f M字符/s",
+                decode ? "解码" : "编码", input, output, chars, seconds,
+                seconds > 0 ? chars / 1_000_000.0 / seconds : 0);
+    }
+}
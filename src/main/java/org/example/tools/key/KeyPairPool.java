@@ -0,0 +1,216 @@
+package org.example.tools.key;
+
+import java.security.InvalidParameterException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 密钥对池 - 后台线程预先生成密钥对放入有界队列，取用时队列非空则立即返回
+ * 队列满时后台线程阻塞等待，不会无限生成；队列为空时在调用线程上直接生成（记为未命中）
+ * 每个(算法, 密钥长度)最多一个池，首次获取时创建，容量和线程数以首次创建时的参数为准
+ * 参数可能来自常驻服务的请求，容量、线程数、池的数量和RSA密钥长度都有上限，避免占满内存和CPU
+ * Created on 2025/10/17
+ */
+public final class KeyPairPool {
+
+    public static final int MAX_CAPACITY = 64;
+    public static final int MAX_WORKERS = 4;
+    public static final int MAX_POOLS = 4;
+    private static final int[] RSA_KEY_SIZES = {2048, 3072, 4096};
+
+    private static final Map<String, KeyPairPool> POOLS = new ConcurrentHashMap<>();
+    private static boolean shutdownHookInstalled;
+
+    private final String algorithm;
+    private final int keySize;
+    private final BlockingQueue<KeyPair> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private final long createdNanos = System.nanoTime();
+    private volatile boolean running = true;
+
+    private final AtomicLong generated = new AtomicLong();
+    private final AtomicLong generationNanos = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private KeyPairPool(String algorithm, int keySize, int capacity, int workerCount) throws NoSuchAlgorithmException {
+        this.algorithm = algorithm;
+        this.keySize = keySize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        // 提前校验算法和密钥长度，避免后台线程反复失败
+        newGenerator();
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::fill, "key-pool-" + algorithm + "-" + keySize + "-" + (i + 1));
+            worker.setDaemon(true);
+            worker.setPriority(Thread.MIN_PRIORITY);
+            workers.add(worker);
+        }
+        workers.forEach(Thread::start);
+    }
+
+    /**
+     * 获取RSA密钥池，不存在时创建并开始后台生成
+     * @param keySize 密钥长度，只支持2048/3072/4096
+     * @param capacity 池容量
+     * @param workerCount 后台生成线程数
+     * @throws IllegalArgumentException 参数不合法
+     */
+    public static KeyPairPool rsa(int keySize, int capacity, int workerCount) throws NoSuchAlgorithmException {
+        if (Arrays.stream(RSA_KEY_SIZES).noneMatch(size -> size == keySize)) {
+            throw new IllegalArgumentException("密钥池只支持RSA密钥长度" + Arrays.toString(RSA_KEY_SIZES) + ": " + keySize);
+        }
+        return get("RSA", keySize, capacity, workerCount);
+    }
+
+    /**
+     * @throws IllegalArgumentException 容量或线程数超出范围，或池的数量已达上限
+     */
+    public static KeyPairPool get(String algorithm, int keySize, int capacity, int workerCount)
+            throws NoSuchAlgorithmException {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("池容量必须在1到" + MAX_CAPACITY + "之间: " + capacity);
+        }
+        if (workerCount <= 0 || workerCount > MAX_WORKERS) {
+            throw new IllegalArgumentException("线程数必须在1到" + MAX_WORKERS + "之间: " + workerCount);
+        }
+        String key = algorithm + "-" + keySize;
+        KeyPairPool pool = POOLS.get(key);
+        if (pool != null) {
+            return pool;
+        }
+        synchronized (POOLS) {
+            pool = POOLS.get(key);
+            if (pool == null) {
+                if (POOLS.size() >= MAX_POOLS) {
+                    throw new IllegalArgumentException("密钥池数量已达上限" + MAX_POOLS);
+                }
+                installShutdownHook();
+                pool = new KeyPairPool(algorithm, keySize, capacity, workerCount);
+                POOLS.put(key, pool);
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * 已创建的所有池
+     */
+    public static List<KeyPairPool> pools() {
+        return new ArrayList<>(POOLS.values());
+    }
+
+    /**
+     * 停止所有池的后台线程并丢弃已生成的密钥
+     */
+    public static void shutdownAll() {
+        synchronized (POOLS) {
+            for (KeyPairPool pool : POOLS.values()) {
+                pool.shutdown();
+            }
+            POOLS.clear();
+        }
+    }
+
+    private static void installShutdownHook() {
+        if (!shutdownHookInstalled) {
+            shutdownHookInstalled = true;
+            Runtime.getRuntime().addShutdownHook(new Thread(KeyPairPool::shutdownAll, "key-pool-shutdown"));
+        }
+    }
+
+    /**
+     * 取出一个密钥对，池为空时在当前线程上直接生成
+     */
+    public KeyPair take() throws NoSuchAlgorithmException {
+        KeyPair keyPair = queue.poll();
+        if (keyPair != null) {
+            hits.incrementAndGet();
+            return keyPair;
+        }
+        misses.incrementAndGet();
+        return newGenerator().generateKeyPair();
+    }
+
+    /**
+     * 停止后台线程，最多等待正在进行的生成完成1秒
+     */
+    public void shutdown() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        queue.clear();
+    }
+
+    private void fill() {
+        KeyPairGenerator generator;
+        try {
+            generator = newGenerator();
+        } catch (NoSuchAlgorithmException e) {
+            return;
+        }
+        while (running) {
+            long start = System.nanoTime();
+            KeyPair keyPair = generator.generateKeyPair();
+            generationNanos.addAndGet(System.nanoTime() - start);
+            generated.incrementAndGet();
+            try {
+                queue.put(keyPair);
+            } catch (InterruptedException e) {
+                // shutdown
+                return;
+            }
+        }
+    }
+
+    private KeyPairGenerator newGenerator() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+        try {
+            generator.initialize(keySize);
+        } catch (InvalidParameterException e) {
+            throw new IllegalArgumentException("不支持的密钥长度: " + keySize, e);
+        }
+        return generator;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public int capacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    /**
+     * 状态：填充量、后台生成速度、命中率
+     */
+    public String stats() {
+        long count = generated.get();
+        long nanos = generationNanos.get();
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        double uptime = (System.nanoTime() - createdNanos) / 1_000_000_000.0;
+        return String.format("%s-%d: 池中 %d/%d, 后台线程 %d, 已生成 %d (平均 %.1f ms/个, %.2f 个/秒), 命中 %d, 未命中 %d, 运行 %.0f 秒%s",
+                algorithm, keySize, size(), capacity(), workers.size(), count,
+                count > 0 ? nanos / 1_000_000.0 / count : 0, uptime > 0 ? count / uptime : 0,
+                hitCount, missCount, uptime, running ? "" : " (已停止)");
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.tools.shard;
+
+/**
+ * UTF-8字节的CRC32（与java.util.zip.CRC32相同），作为无符号32位数返回
+ * 查表实现，不需要每次创建CRC32对象
+ * Created on 2025/10/17
+ */
+public final class Crc32Hash implements KeyHash {
+
+    private static final int[] TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int c = i;
+            for (int k = 0; k < 8; k++) {
+                c = (c & 1) != 0 ? 0xedb88320 ^ c >>> 1 : c >>> 1;
+            }
+            TABLE[i] = c;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "crc32";
+    }
+
+    @Override
+    public long hash(CharSequence key) {
+        Utf8 utf8 = Utf8.encode(key);
+        return crc32(utf8.bytes, 0, utf8.length);
+    }
+
+    public static long crc32(byte[] bytes, int offset, int length) {
+        int crc = 0xffffffff;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            crc = TABLE[(crc ^ bytes[i]) & 0xff] ^ crc >>> 8;
+        }
+        return ~crc & 0xffffffffL;
+    }
+}
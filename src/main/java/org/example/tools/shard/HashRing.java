@@ -0,0 +1,147 @@
+package org.example.tools.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ketama风格的一致性哈希环
+ * <p>
+ * 每个分片i有vnodes个虚拟节点，节点位置取自 MD5("i-k") 的摘要，每个摘要按小端序切出4个32位位置（与ketama相同）。
+ * 所有位置排序后存放在int数组中，查找时对键的哈希做一次混合，再二分查找顺时针方向的第一个节点。
+ * 查找过程不分配对象。
+ * Created on 2025/10/17
+ */
+public final class HashRing implements ShardStrategy {
+
+    /**
+     * 已构建的哈希环，按(分片数, 虚拟节点数)缓存
+     */
+    private static final int MAX_CACHED = 64;
+
+    /**
+     * 虚拟节点总数（分片数 × 每个分片的虚拟节点数）上限，每个环最多占用约2MB，缓存满时约128MB
+     */
+    public static final int MAX_NODES = 1 << 18;
+    private static final Map<Long, HashRing> CACHE = new ConcurrentHashMap<>();
+
+    private final int shardCount;
+    private final int vnodes;
+    private final int[] points;
+    private final int[] owners;
+
+    /**
+     * @throws IllegalArgumentException 分片数或虚拟节点数不合法，或虚拟节点总数超过{@link #MAX_NODES}
+     */
+    public HashRing(int shardCount, int vnodes) {
+        checkSize(shardCount, vnodes);
+        this.shardCount = shardCount;
+        this.vnodes = vnodes;
+
+        // 位置在高32位、分片号在低32位，排序后位置相同的节点按分片号确定先后
+        long[] nodes = new long[shardCount * vnodes];
+        MessageDigest md5;
+        try {
+            md5 = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        int n = 0;
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int k = 0; k * 4 < vnodes; k++) {
+                byte[] digest = md5.digest((shard + "-" + k).getBytes(StandardCharsets.UTF_8));
+                for (int part = 0; part < 4 && k * 4 + part < vnodes; part++) {
+                    int point = (digest[part * 4 + 3] & 0xff) << 24 | (digest[part * 4 + 2] & 0xff) << 16
+                            | (digest[part * 4 + 1] & 0xff) << 8 | (digest[part * 4] & 0xff);
+                    nodes[n++] = (long) point << 32 | shard;
+                }
+            }
+        }
+        Arrays.sort(nodes);
+        points = new int[nodes.length];
+        owners = new int[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            points[i] = (int) (nodes[i] >> 32);
+            owners[i] = (int) nodes[i];
+        }
+    }
+
+    /**
+     * 获取缓存的哈希环，不存在时构建
+     */
+    static HashRing cached(int shardCount, int vnodes) {
+        checkSize(shardCount, vnodes);
+        Long key = (long) shardCount << 32 | vnodes;
+        HashRing ring = CACHE.get(key);
+        if (ring == null) {
+            if (CACHE.size() >= MAX_CACHED) {
+                CACHE.clear();
+            }
+            ring = CACHE.computeIfAbsent(key, k -> new HashRing(shardCount, vnodes));
+        }
+        return ring;
+    }
+
+    private static void checkSize(int shardCount, int vnodes) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("分片数量必须大于0: " + shardCount);
+        }
+        if (vnodes <= 0) {
+            throw new IllegalArgumentException("虚拟节点数必须大于0: " + vnodes);
+        }
+        if ((long) shardCount * vnodes > MAX_NODES) {
+            throw new IllegalArgumentException("虚拟节点总数(分片数×虚拟节点数)不能超过" + MAX_NODES + ": "
+                    + shardCount + "×" + vnodes);
+        }
+    }
+
+    @Override
+    public int shard(long hash) {
+        int position = Arrays.binarySearch(points, mix(hash));
+        if (position < 0) {
+            position = -position - 1;
+            if (position == points.length) {
+                position = 0;
+            }
+        } else {
+            // 位置相同的多个节点取第一个
+            while (position > 0 && points[position - 1] == points[position]) {
+                position--;
+            }
+        }
+        return owners[position];
+    }
+
+    /**
+     * MurmurHash3的64位终结混合，把String.hashCode这类分布集中的哈希均匀地打散到整个环上
+     */
+    static int mix(long hash) {
+        return (int) mix64(hash);
+    }
+
+    static long mix64(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    @Override
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int vnodes() {
+        return vnodes;
+    }
+
+    @Override
+    public String name() {
+        return "ring";
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.tools.shard;
+
+/**
+ * String.hashCode()，按int符号扩展
+ * Created on 2025/10/17
+ */
+public final class JavaHash implements KeyHash {
+
+    @Override
+    public String name() {
+        return "java";
+    }
+
+    @Override
+    public long hash(CharSequence key) {
+        if (key instanceof String) {
+            // String会缓存哈希值
+            return key.hashCode();
+        }
+        int h = 0;
+        for (int i = 0, length = key.length(); i < length; i++) {
+            h = 31 * h + key.charAt(i);
+        }
+        return h;
+    }
+}
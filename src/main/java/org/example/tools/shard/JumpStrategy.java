@@ -0,0 +1,45 @@
+package org.example.tools.shard;
+
+/**
+ * Jump Consistent Hash (Lamping &amp; Veach, 2014)
+ * 不需要额外内存，分片数从n增加到n+1时只有约1/(n+1)的键移动到新分片，其余键保持不变
+ * Created on 2025/10/17
+ */
+public final class JumpStrategy implements ShardStrategy {
+
+    private final int shardCount;
+
+    public JumpStrategy(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public int shard(long hash) {
+        return jump(hash, shardCount);
+    }
+
+    /**
+     * @param key 64位键
+     * @param buckets 分片数，必须大于0
+     */
+    public static int jump(long key, int buckets) {
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+
+    @Override
+    public int shardCount() {
+        return shardCount;
+    }
+
+    @Override
+    public String name() {
+        return "jump";
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.tools.shard;
+
+/**
+ * 键哈希函数 - 把订单号映射为分片策略使用的哈希值
+ * <p>
+ * 内置实现见{@link KeyHashes}，其他实现可通过Java标准SPI注册：
+ * 在META-INF/services/org.example.tools.shard.KeyHash中列出实现类（需要public无参构造方法）。
+ * 实现必须线程安全，且不应在每次调用时分配对象。
+ * Created on 2025/10/17
+ */
+public interface KeyHash {
+
+    /**
+     * 名称，对应shard命令的hash参数（不区分大小写）
+     */
+    String name();
+
+    /**
+     * @return 哈希值，32位哈希按int符号扩展或作为无符号数返回，由实现说明
+     */
+    long hash(CharSequence key);
+}
@@ -0,0 +1,72 @@
+package org.example.tools.shard;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * 键哈希函数注册表：内置java、crc32、murmur3、xxhash64，以及通过SPI加载的扩展
+ * Created on 2025/10/17
+ */
+public final class KeyHashes {
+
+    public static final String DEFAULT = "java";
+
+    private static volatile Map<String, KeyHash> hashes;
+
+    private KeyHashes() {
+    }
+
+    /**
+     * 按名称查找哈希函数，为空时返回默认的java
+     * @throws IllegalArgumentException 未知的哈希函数
+     */
+    public static KeyHash of(String name) {
+        String normalized = name == null || name.trim().isEmpty() ? DEFAULT : name.trim().toLowerCase();
+        KeyHash hash = all().get(normalized);
+        if (hash == null) {
+            throw new IllegalArgumentException("未知的哈希函数: " + name + " (可选: " + String.join(", ", names()) + ")");
+        }
+        return hash;
+    }
+
+    public static Set<String> names() {
+        return all().keySet();
+    }
+
+    private static Map<String, KeyHash> all() {
+        Map<String, KeyHash> result = hashes;
+        if (result == null) {
+            synchronized (KeyHashes.class) {
+                result = hashes;
+                if (result == null) {
+                    result = load();
+                    hashes = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, KeyHash> load() {
+        Map<String, KeyHash> result = new LinkedHashMap<>();
+        register(result, new JavaHash());
+        register(result, new Crc32Hash());
+        register(result, new Murmur3Hash());
+        register(result, new XxHash64());
+        for (KeyHash hash : ServiceLoader.load(KeyHash.class)) {
+            if (result.containsKey(hash.name().toLowerCase())) {
+                System.err.println("警告: 哈希函数 '" + hash.name() + "' 已存在，忽略 " + hash.getClass().getName());
+                continue;
+            }
+            register(result, hash);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static void register(Map<String, KeyHash> hashes, KeyHash hash) {
+        hashes.put(hash.name().toLowerCase(), hash);
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.tools.shard;
+
+/**
+ * 哈希取余：|hash % n|
+ * 对Integer.MIN_VALUE以外的int哈希与原来的 Math.abs(hash) % n 结果相同，
+ * 而 Math.abs(Integer.MIN_VALUE) 仍为负数，会得到负的分片号
+ * Created on 2025/10/17
+ */
+public final class ModStrategy implements ShardStrategy {
+
+    private final int shardCount;
+
+    public ModStrategy(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public int shard(long hash) {
+        return (int) Math.abs(hash % shardCount);
+    }
+
+    @Override
+    public int shardCount() {
+        return shardCount;
+    }
+
+    @Override
+    public String name() {
+        return "mod";
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.tools.shard;
+
+/**
+ * UTF-8字节的MurmurHash3 x86_32（种子0），按int符号扩展
+ * 与Guava的Hashing.murmur3_32_fixed().hashString(key, UTF_8).asInt()结果相同
+ * Created on 2025/10/17
+ */
+public final class Murmur3Hash implements KeyHash {
+
+    private static final int C1 = 0xcc9e2d51;
+    private static final int C2 = 0x1b873593;
+
+    @Override
+    public String name() {
+        return "murmur3";
+    }
+
+    @Override
+    public long hash(CharSequence key) {
+        Utf8 utf8 = Utf8.encode(key);
+        return murmur3(utf8.bytes, 0, utf8.length, 0);
+    }
+
+    @SuppressWarnings("fallthrough")
+    public static int murmur3(byte[] bytes, int offset, int length, int seed) {
+        int h = seed;
+        int i = offset;
+        for (int end = offset + (length & ~3); i < end; i += 4) {
+            int k = bytes[i] & 0xff | (bytes[i + 1] & 0xff) << 8 | (bytes[i + 2] & 0xff) << 16 | bytes[i + 3] << 24;
+            h ^= mixK(k);
+            h = Integer.rotateLeft(h, 13) * 5 + 0xe6546b64;
+        }
+        int k = 0;
+        switch (length & 3) {
+            case 3:
+                k ^= (bytes[i + 2] & 0xff) << 16;
+                // fall through
+            case 2:
+                k ^= (bytes[i + 1] & 0xff) << 8;
+                // fall through
+            case 1:
+                k ^= bytes[i] & 0xff;
+                h ^= mixK(k);
+                break;
+            default:
+                break;
+        }
+        h ^= length;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static int mixK(int k) {
+        k *= C1;
+        k = Integer.rotateLeft(k, 15);
+        return k * C2;
+    }
+}
@@ -0,0 +1,235 @@
+package org.example.tools.shard;
+
+import java.util.Arrays;
+
+/**
+ * 单层路由规则（库或表），由规则表达式编译而来，编译后只读、线程安全
+ * <p>
+ * 表达式：
+ * <ul>
+ *     <li>slot - 全局槽位：slot = |hash % (库数*表数)|，库 = slot / 表数，表 = slot % 表数（两层都用slot时数据分布最均匀）</li>
+ *     <li>mod - |hash % 本层数量|</li>
+ *     <li>hash[:函数名] - 用指定哈希函数（默认与hash参数相同）做Jump Consistent Hash，扩容时迁移最少</li>
+ *     <li>range:起-止:边界1,边界2,... - 取订单号第[起,止)个字符组成的数字（如日期yyyyMM），
+ *     小于边界1为0，[边界1,边界2)为1，以此类推</li>
+ *     <li>外层/内层 - 组合规则：外层规则把本层分成若干组，内层规则在组内选择，如 range:3-7:2025/mod</li>
+ * </ul>
+ * Created on 2025/10/17
+ */
+abstract class RouteRule {
+
+    /**
+     * range规则中数值跨度不超过该值时预先展开为直接索引表
+     */
+    private static final long MAX_DENSE_RANGE = 1 << 20;
+
+    /**
+     * 本层的分区数量
+     */
+    final int count;
+
+    RouteRule(int count) {
+        this.count = count;
+    }
+
+    /**
+     * @param id 订单号
+     * @param hash 订单号按默认哈希函数计算的哈希值
+     * @return [0, count)
+     */
+    abstract int index(CharSequence id, long hash);
+
+    /**
+     * 编译规则表达式
+     * @param level 层级，0为库，1为表，用于slot规则和打散各层的hash规则
+     * @throws IllegalArgumentException 表达式不合法
+     */
+    static RouteRule compile(String expression, int count, int level, int dbs, int tables) {
+        String rule = expression == null || expression.trim().isEmpty() ? "slot" : expression.trim();
+        int split = rule.indexOf('/');
+        if (split >= 0) {
+            RouteRule outer = compile(rule.substring(0, split), -1, level, dbs, tables);
+            int groups = outer.count;
+            if (groups <= 0 || count % groups != 0) {
+                throw new IllegalArgumentException("组合规则的外层分组数必须整除本层数量: " + rule);
+            }
+            RouteRule inner = compile(rule.substring(split + 1), count / groups, level, dbs, tables);
+            return new Composite(count, outer, inner);
+        }
+
+        String lower = rule.toLowerCase();
+        if (lower.equals("slot")) {
+            return new Slot(count, level, tables, (long) dbs * tables);
+        } else if (lower.equals("mod")) {
+            return new Mod(count);
+        } else if (lower.equals("hash") || lower.startsWith("hash:")) {
+            KeyHash keyHash = lower.equals("hash") ? null : KeyHashes.of(rule.substring("hash:".length()));
+            return new Jump(count, keyHash, level);
+        } else if (lower.startsWith("range:")) {
+            return Range.parse(rule, count);
+        }
+        throw new IllegalArgumentException("未知的路由规则: " + rule + " (可选: slot, mod, hash[:函数], range:起-止:边界, 外层/内层)");
+    }
+
+    private static void checkCount(int count, String rule) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("规则只能作为组合规则的内层或单独使用: " + rule);
+        }
+    }
+
+    private static final class Slot extends RouteRule {
+        private final int level;
+        private final int tables;
+        private final long slots;
+
+        Slot(int count, int level, int tables, long slots) {
+            super(count);
+            checkCount(count, "slot");
+            this.level = level;
+            this.tables = tables;
+            this.slots = slots;
+        }
+
+        @Override
+        int index(CharSequence id, long hash) {
+            long slot = Math.abs(hash % slots);
+            return (int) (level == 0 ? slot / tables : slot % tables) % count;
+        }
+    }
+
+    private static final class Mod extends RouteRule {
+        Mod(int count) {
+            super(count);
+            checkCount(count, "mod");
+        }
+
+        @Override
+        int index(CharSequence id, long hash) {
+            return (int) Math.abs(hash % count);
+        }
+    }
+
+    private static final class Jump extends RouteRule {
+        private final KeyHash keyHash;
+        private final long salt;
+
+        Jump(int count, KeyHash keyHash, int level) {
+            super(count);
+            checkCount(count, "hash");
+            this.keyHash = keyHash;
+            // 库和表使用不同的盐，避免两层结果相关
+            this.salt = 0x9E3779B97F4A7C15L * (level + 1);
+        }
+
+        @Override
+        int index(CharSequence id, long hash) {
+            long key = keyHash == null ? hash : keyHash.hash(id);
+            return JumpStrategy.jump(HashRing.mix64(key + salt), count);
+        }
+    }
+
+    private static final class Range extends RouteRule {
+        private final int from;
+        private final int to;
+        private final long[] bounds;
+        /**
+         * 数值跨度较小时的直接索引表：index = dense[value - bounds[0]]
+         */
+        private final byte[] dense;
+
+        private Range(int count, int from, int to, long[] bounds) {
+            super(count);
+            this.from = from;
+            this.to = to;
+            this.bounds = bounds;
+            long span = bounds[bounds.length - 1] - bounds[0];
+            if (span < MAX_DENSE_RANGE && bounds.length < Byte.MAX_VALUE) {
+                dense = new byte[(int) span];
+                for (int i = 0; i < dense.length; i++) {
+                    dense[i] = (byte) search(bounds[0] + i);
+                }
+            } else {
+                dense = null;
+            }
+        }
+
+        static Range parse(String rule, int count) {
+            String[] parts = rule.split(":", 3);
+            String[] positions = parts.length == 3 ? parts[1].split("-") : new String[0];
+            if (positions.length != 2) {
+                throw new IllegalArgumentException("range规则格式为 range:起-止:边界1,边界2,... : " + rule);
+            }
+            try {
+                int from = Integer.parseInt(positions[0].trim());
+                int to = Integer.parseInt(positions[1].trim());
+                String[] values = parts[2].split(",");
+                long[] bounds = new long[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    bounds[i] = Long.parseLong(values[i].trim());
+                }
+                if (from < 0 || to <= from || to - from > 18) {
+                    throw new IllegalArgumentException("range规则的字符区间不合法: " + rule);
+                }
+                for (int i = 1; i < bounds.length; i++) {
+                    if (bounds[i] <= bounds[i - 1]) {
+                        throw new IllegalArgumentException("range规则的边界必须递增: " + rule);
+                    }
+                }
+                int groups = bounds.length + 1;
+                if (count > 0 && count != groups) {
+                    throw new IllegalArgumentException("range规则有 " + groups + " 个区间，但本层数量为 " + count + ": " + rule);
+                }
+                return new Range(groups, from, to, bounds);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("range规则中的数字不合法: " + rule);
+            }
+        }
+
+        @Override
+        int index(CharSequence id, long hash) {
+            if (id.length() < to) {
+                throw new IllegalArgumentException("订单号长度不足，无法按range规则路由: " + id);
+            }
+            long value = 0;
+            for (int i = from; i < to; i++) {
+                int digit = id.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new IllegalArgumentException("订单号第" + from + "-" + to + "位不是数字: " + id);
+                }
+                value = value * 10 + digit;
+            }
+            if (value < bounds[0]) {
+                return 0;
+            }
+            long offset = value - bounds[0];
+            if (dense != null) {
+                return offset < dense.length ? dense[(int) offset] : bounds.length;
+            }
+            return search(value);
+        }
+
+        /**
+         * 不大于value的边界个数
+         */
+        private int search(long value) {
+            int position = Arrays.binarySearch(bounds, value);
+            return position >= 0 ? position + 1 : -position - 1;
+        }
+    }
+
+    private static final class Composite extends RouteRule {
+        private final RouteRule outer;
+        private final RouteRule inner;
+
+        Composite(int count, RouteRule outer, RouteRule inner) {
+            super(count);
+            this.outer = outer;
+            this.inner = inner;
+        }
+
+        @Override
+        int index(CharSequence id, long hash) {
+            return outer.index(id, hash) * inner.count + inner.index(id, hash);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.tools.shard;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 两级路由表：订单号 -> 库 -> 库内的表
+ * <p>
+ * 规则在构建时编译一次（见{@link RouteRule}），所有"db_x.table_y"名称预先生成，
+ * 路由时只计算一次哈希和两个下标，不拼接字符串。实例只读，可被多个线程同时使用。
+ * Created on 2025/10/17
+ */
+public final class RoutingTable {
+
+    private static final int MAX_CACHED = 64;
+    private static final Map<String, RoutingTable> CACHE = new ConcurrentHashMap<>();
+
+    private final int dbs;
+    private final int tables;
+    private final KeyHash keyHash;
+    private final RouteRule dbRule;
+    private final RouteRule tableRule;
+    private final String[] names;
+    private final String description;
+
+    /**
+     * @param dbs 库数量
+     * @param tables 每个库的表数量
+     * @param dbRule 库路由规则表达式，为空时使用slot
+     * @param tableRule 表路由规则表达式，为空时使用slot
+     * @param keyHash 默认哈希函数
+     * @throws IllegalArgumentException 参数或规则不合法
+     */
+    public RoutingTable(int dbs, int tables, String dbRule, String tableRule, KeyHash keyHash) {
+        if (dbs <= 0 || tables <= 0 || (long) dbs * tables > 1 << 20) {
+            throw new IllegalArgumentException("库数量和表数量必须大于0，且总表数不超过1048576");
+        }
+        this.dbs = dbs;
+        this.tables = tables;
+        this.keyHash = keyHash;
+        this.dbRule = RouteRule.compile(dbRule, dbs, 0, dbs, tables);
+        this.tableRule = RouteRule.compile(tableRule, tables, 1, dbs, tables);
+        this.names = new String[dbs * tables];
+        for (int db = 0; db < dbs; db++) {
+            for (int table = 0; table < tables; table++) {
+                names[db * tables + table] = "db_" + db + ".table_" + table;
+            }
+        }
+        this.description = dbs + "库 x " + tables + "表, 库规则: " + (dbRule == null || dbRule.isEmpty() ? "slot" : dbRule)
+                + ", 表规则: " + (tableRule == null || tableRule.isEmpty() ? "slot" : tableRule) + ", 哈希: " + keyHash.name();
+    }
+
+    /**
+     * 获取缓存的路由表，不存在时编译
+     */
+    public static RoutingTable cached(int dbs, int tables, String dbRule, String tableRule, KeyHash keyHash) {
+        String key = dbs + "|" + tables + "|" + dbRule + "|" + tableRule + "|" + keyHash.name();
+        RoutingTable table = CACHE.get(key);
+        if (table == null) {
+            if (CACHE.size() >= MAX_CACHED) {
+                CACHE.clear();
+            }
+            table = CACHE.computeIfAbsent(key, k -> new RoutingTable(dbs, tables, dbRule, tableRule, keyHash));
+        }
+        return table;
+    }
+
+    /**
+     * @return 全局表序号 库 * 每库表数 + 表
+     * @throws IllegalArgumentException 订单号不符合range规则
+     */
+    public int slot(CharSequence orderId) {
+        long hash = keyHash.hash(orderId);
+        return dbRule.index(orderId, hash) * tables + tableRule.index(orderId, hash);
+    }
+
+    /**
+     * @return 形如 db_1.table_3 的名称
+     */
+    public String route(CharSequence orderId) {
+        return names[slot(orderId)];
+    }
+
+    public String name(int slot) {
+        return names[slot];
+    }
+
+    public int dbs() {
+        return dbs;
+    }
+
+    public int tables() {
+        return tables;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.tools.shard;
+
+/**
+ * 分片策略 - 把键的哈希值映射到[0, shardCount)中的分片号
+ * 实现必须是无状态或只读的，可被多个线程同时使用
+ * Created on 2025/10/17
+ */
+public interface ShardStrategy {
+
+    int DEFAULT_VNODES = 160;
+
+    /**
+     * @param hash 键的哈希值（int哈希按符号扩展为long）
+     * @return 分片号，范围[0, shardCount)
+     */
+    int shard(long hash);
+
+    int shardCount();
+
+    /**
+     * 策略名称：mod、jump或ring
+     */
+    String name();
+
+    /**
+     * 按名称创建策略，哈希环构建成本较高，相同参数的哈希环会被缓存复用
+     * @param name mod(哈希取余)、jump(Jump Consistent Hash)、ring(带虚拟节点的一致性哈希环)，为空时使用mod
+     * @param vnodes 哈希环中每个分片的虚拟节点数，其他策略忽略
+     * @throws IllegalArgumentException 未知的策略或分片数不合法
+     */
+    static ShardStrategy of(String name, int shardCount, int vnodes) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("分片数量必须大于0: " + shardCount);
+        }
+        String normalized = name == null || name.trim().isEmpty() ? "mod" : name.trim().toLowerCase();
+        switch (normalized) {
+            case "mod":
+                return new ModStrategy(shardCount);
+            case "jump":
+                return new JumpStrategy(shardCount);
+            case "ring":
+                return HashRing.cached(shardCount, vnodes);
+            default:
+                throw new IllegalArgumentException("未知的分片策略: " + name + " (可选: mod, jump, ring)");
+        }
+    }
+}
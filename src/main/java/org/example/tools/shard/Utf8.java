@@ -0,0 +1,54 @@
+package org.example.tools.shard;
+
+/**
+ * 把字符序列编码为UTF-8写入线程复用的缓冲区，供按字节计算的哈希函数使用，稳定后不再分配对象
+ * 非法的代理项按String.getBytes(UTF_8)的方式替换为'?'
+ * Created on 2025/10/17
+ */
+final class Utf8 {
+
+    private static final ThreadLocal<Utf8> LOCAL = ThreadLocal.withInitial(Utf8::new);
+
+    byte[] bytes = new byte[256];
+    int length;
+
+    private Utf8() {
+    }
+
+    /**
+     * 编码到当前线程的缓冲区
+     * @return 当前线程的缓冲区，结果为bytes[0, length)，下次调用前有效
+     */
+    static Utf8 encode(CharSequence key) {
+        Utf8 utf8 = LOCAL.get();
+        int chars = key.length();
+        if (utf8.bytes.length < chars * 3) {
+            utf8.bytes = new byte[Math.max(chars * 3, utf8.bytes.length * 2)];
+        }
+        byte[] buffer = utf8.bytes;
+        int n = 0;
+        for (int i = 0; i < chars; i++) {
+            char c = key.charAt(i);
+            if (c < 0x80) {
+                buffer[n++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[n++] = (byte) (0xc0 | c >> 6);
+                buffer[n++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < chars && Character.isLowSurrogate(key.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, key.charAt(++i));
+                buffer[n++] = (byte) (0xf0 | codePoint >> 18);
+                buffer[n++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                buffer[n++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                buffer[n++] = (byte) (0x80 | codePoint & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                buffer[n++] = '?';
+            } else {
+                buffer[n++] = (byte) (0xe0 | c >> 12);
+                buffer[n++] = (byte) (0x80 | c >> 6 & 0x3f);
+                buffer[n++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        utf8.length = n;
+        return utf8;
+    }
+}
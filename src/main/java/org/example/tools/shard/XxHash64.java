@@ -0,0 +1,91 @@
+package org.example.tools.shard;
+
+/**
+ * UTF-8字节的xxHash64（种子0），返回完整的64位值
+ * Created on 2025/10/17
+ */
+public final class XxHash64 implements KeyHash {
+
+    private static final long P1 = 0x9E3779B185EBCA87L;
+    private static final long P2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long P3 = 0x165667B19E3779F9L;
+    private static final long P4 = 0x85EBCA77C2B2AE63L;
+    private static final long P5 = 0x27D4EB2F165667C5L;
+
+    @Override
+    public String name() {
+        return "xxhash64";
+    }
+
+    @Override
+    public long hash(CharSequence key) {
+        Utf8 utf8 = Utf8.encode(key);
+        return xxHash64(utf8.bytes, 0, utf8.length, 0);
+    }
+
+    public static long xxHash64(byte[] bytes, int offset, int length, long seed) {
+        int i = offset;
+        int end = offset + length;
+        long h;
+        if (length >= 32) {
+            long v1 = seed + P1 + P2;
+            long v2 = seed + P2;
+            long v3 = seed;
+            long v4 = seed - P1;
+            for (int limit = end - 32; i <= limit; i += 32) {
+                v1 = round(v1, getLong(bytes, i));
+                v2 = round(v2, getLong(bytes, i + 8));
+                v3 = round(v3, getLong(bytes, i + 16));
+                v4 = round(v4, getLong(bytes, i + 24));
+            }
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = mergeRound(h, v1);
+            h = mergeRound(h, v2);
+            h = mergeRound(h, v3);
+            h = mergeRound(h, v4);
+        } else {
+            h = seed + P5;
+        }
+        h += length;
+
+        for (; i + 8 <= end; i += 8) {
+            h ^= round(0, getLong(bytes, i));
+            h = Long.rotateLeft(h, 27) * P1 + P4;
+        }
+        if (i + 4 <= end) {
+            h ^= (getInt(bytes, i) & 0xffffffffL) * P1;
+            h = Long.rotateLeft(h, 23) * P2 + P3;
+            i += 4;
+        }
+        for (; i < end; i++) {
+            h ^= (bytes[i] & 0xff) * P5;
+            h = Long.rotateLeft(h, 11) * P1;
+        }
+
+        h ^= h >>> 33;
+        h *= P2;
+        h ^= h >>> 29;
+        h *= P3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    private static long round(long acc, long input) {
+        acc += input * P2;
+        acc = Long.rotateLeft(acc, 31);
+        return acc * P1;
+    }
+
+    private static long mergeRound(long acc, long value) {
+        acc ^= round(0, value);
+        return acc * P1 + P4;
+    }
+
+    private static long getLong(byte[] bytes, int i) {
+        return getInt(bytes, i) & 0xffffffffL | (long) getInt(bytes, i + 4) << 32;
+    }
+
+    private static int getInt(byte[] bytes, int i) {
+        return bytes[i] & 0xff | (bytes[i + 1] & 0xff) << 8 | (bytes[i + 2] & 0xff) << 16 | bytes[i + 3] << 24;
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.core;
+
+import org.example.annotation.Tool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 多线程并发调用initialize和executeTool的同时，插件线程不断注册新工具、覆盖已有工具、增删监听器，
+ * 调用结果（包括缓存的结果）必须始终正确，注册的工具和监听器收到的通知都不能丢
+ * Created on 2025/10/17
+ */
+public class ToolRegistryConcurrencyTest {
+
+    private static final int CALLER_THREADS = 8;
+    private static final int PLUGIN_TOOLS = 500;
+    private static final String PURE_COMMAND = "stress-pure";
+    private static final String PLAIN_COMMAND = "stress-plain";
+    private static final String PLUGIN_PREFIX = "stress-plugin-";
+
+    @Tool(command = PURE_COMMAND, name = "并发测试(纯函数)", description = "返回参数的SHA-256", pure = true)
+    private static final class PureTool {
+    }
+
+    @Tool(command = PLAIN_COMMAND, name = "并发测试", description = "原样返回参数")
+    private static final class PlainTool {
+    }
+
+    private PrintStream out;
+    private PrintStream err;
+
+    /**
+     * 注册和覆盖数百个工具时注册表逐个打印日志，测试期间丢弃
+     */
+    @Before
+    public void silenceRegistryLog() {
+        out = System.out;
+        err = System.err;
+        PrintStream quiet = new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        });
+        System.setOut(quiet);
+        System.setErr(quiet);
+    }
+
+    @After
+    public void restoreRegistryLog() {
+        System.setOut(out);
+        System.setErr(err);
+    }
+
+    @Test
+    public void executeWhilePluginRegisters() throws Exception {
+        Tool pure = PureTool.class.getAnnotation(Tool.class);
+        Tool plain = PlainTool.class.getAnnotation(Tool.class);
+        ToolRegistry.registerTool(PURE_COMMAND, ToolRegistryConcurrencyTest::sha256, pure);
+        ToolRegistry.registerTool(PLAIN_COMMAND, parameters -> parameters.get("value"), plain);
+
+        AtomicBoolean pluginDone = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLER_THREADS + 1);
+        try {
+            List<Future<?>> callers = new ArrayList<>();
+            for (int t = 0; t < CALLER_THREADS; t++) {
+                int thread = t;
+                callers.add(executor.submit(() -> {
+                    start.await();
+                    // 重复初始化只扫描一次，与注册并发也不会出错
+                    ToolRegistry.initialize("org.example.tools");
+                    for (int i = 0; !pluginDone.get() || i < 2_000; i++) {
+                        String value = thread + "-" + (i % 64);
+                        assertEquals(sha256(params(value)), ToolRegistry.executeTool(PURE_COMMAND, params(value)));
+                        assertEquals(value, ToolRegistry.executeTool(PLAIN_COMMAND, params(value)));
+                        assertEquals(plain.name(), ToolRegistry.getToolInfo(PLAIN_COMMAND).name);
+
+                        // 插件工具可能尚未注册，注册之后必须立即可用
+                        String plugin = PLUGIN_PREFIX + (i % PLUGIN_TOOLS);
+                        String result = ToolRegistry.executeTool(plugin, params(value));
+                        if (!result.equals("未找到命令: " + plugin) && !result.equals(plugin + ":" + value)) {
+                            fail("意外的结果: " + result);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            Set<String> notified = ConcurrentHashMap.newKeySet();
+            ToolRegistry.RegistrationListener listener = (command, info) -> notified.add(command);
+            Future<?> plugin = executor.submit(() -> {
+                start.await();
+                try {
+                    for (int i = 0; i < PLUGIN_TOOLS; i++) {
+                        String command = PLUGIN_PREFIX + i;
+                        ToolRegistry.registerTool(command, parameters -> command + ":" + parameters.get("value"), plain);
+                        if (i % 100 == 0) {
+                            // 覆盖已有工具会清空结果缓存，行为不变时调用方不应察觉
+                            ToolRegistry.registerTool(PURE_COMMAND, ToolRegistryConcurrencyTest::sha256, pure);
+                            ToolRegistry.registerTool(PLAIN_COMMAND, parameters -> parameters.get("value"), plain);
+                        }
+                        if (i == PLUGIN_TOOLS / 2) {
+                            ToolRegistry.addRegistrationListener(listener);
+                        }
+                    }
+                } finally {
+                    pluginDone.set(true);
+                }
+                return null;
+            });
+
+            start.countDown();
+            plugin.get(60, TimeUnit.SECONDS);
+            for (Future<?> caller : callers) {
+                caller.get(60, TimeUnit.SECONDS);
+            }
+            ToolRegistry.removeRegistrationListener(listener);
+
+            Set<String> commands = ToolRegistry.getAllToolCommands();
+            for (int i = 0; i < PLUGIN_TOOLS; i++) {
+                assertTrue(commands.contains(PLUGIN_PREFIX + i));
+                assertNotNull(ToolRegistry.getToolInfo(PLUGIN_PREFIX + i));
+                // 添加监听器时回放已注册的工具，之后的注册逐个通知
+                assertTrue(notified.contains(PLUGIN_PREFIX + i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<String, String> params(String value) {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("value", value);
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    private static String sha256(Map<String, String> parameters) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return Codec.toHex(digest.digest(parameters.get("value").getBytes(StandardCharsets.UTF_8)));
+    }
+}
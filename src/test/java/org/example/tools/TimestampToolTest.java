@@ -0,0 +1,78 @@
+package org.example.tools;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 文件批量转换：各单位的时间戳都要转换，包括19位的纳秒时间戳和long的边界值；
+ * 单值转换和文件转换一样使用zone参数
+ * Created on 2025/10/17
+ */
+public class TimestampToolTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void convertsNineteenDigitNanosInFileMode() throws Exception {
+        File infile = folder.newFile("in.csv");
+        File outfile = new File(folder.getRoot(), "out.csv");
+        Files.write(infile.toPath(), Arrays.asList(
+                "ts,unit",
+                "1700000000,s",
+                "1700000000123,ms",
+                "1700000000123456,us",
+                "1700000000123456789,ns",
+                "9223372036854775807,max",
+                "-9223372036854775808,min",
+                "9223372036854775808,overflow"), StandardCharsets.UTF_8);
+
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("infile", infile.getPath());
+        parameters.put("outfile", outfile.getPath());
+        parameters.put("column", "1");
+        parameters.put("zone", "UTC");
+        String report = new TimestampTool().execute(parameters);
+
+        List<String> lines = Files.readAllLines(outfile.toPath(), StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList(
+                "ts,unit",
+                "2023-11-14 22:13:20,s",
+                "2023-11-14 22:13:20,ms",
+                "2023-11-14 22:13:20,us",
+                "2023-11-14 22:13:20,ns",
+                "2262-04-11 23:47:16,max",
+                "1677-09-21 00:12:43,min",
+                "9223372036854775808,overflow"), lines);
+        // 表头和超出long的值保持原样
+        assertTrue(report, report.contains("已转换: 6, 保持原样: 2"));
+    }
+
+    @Test
+    public void singleValueUsesZone() throws Exception {
+        assertEquals("2023-11-14 22:13:20\n1700000000 (秒)", convert("timestamp", "1700000000", "UTC"));
+        assertEquals("2023-11-15 06:13:20\n1700000000 (秒)", convert("timestamp", "1700000000", "Asia/Shanghai"));
+        assertEquals("2023-11-14 22:13:20\n1700000000000", convert("date", "2023-11-14 22:13:20", "UTC"));
+        assertEquals("2023-11-15 06:13:20\n1700000000000", convert("date", "2023-11-15 06:13:20", "+08:00"));
+        assertEquals("错误: 无效的时区: Mars/Base", convert("timestamp", "1700000000", "Mars/Base"));
+    }
+
+    private static String convert(String name, String value, String zone) throws Exception {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(name, value);
+        parameters.put("zone", zone);
+        return new TimestampTool().execute(parameters);
+    }
+}